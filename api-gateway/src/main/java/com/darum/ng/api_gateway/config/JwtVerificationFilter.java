@@ -0,0 +1,174 @@
+package com.darum.ng.api_gateway.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rejects requests carrying an invalid bearer token before they are routed
+ * (enabled with {@code jwt.algorithm=RS256}).
+ * <p>
+ * Tokens are verified locally against the auth-service JWKS, cached by {@code kid}.
+ * The JWKS is fetched again only when a token names an unknown kid, at most once per
+ * {@code jwt.jwks.min-refresh-interval}. Requests without a token pass through; the
+ * downstream services decide which endpoints need authentication.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.algorithm", havingValue = "RS256")
+public class JwtVerificationFilter implements GlobalFilter, Ordered {
+    private static final Logger logger = LoggerFactory.getLogger(JwtVerificationFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final String jwksUri;
+    private final long minRefreshIntervalMs;
+    private final JwtParser jwtParser;
+
+    private volatile Map<String, PublicKey> publicKeys = Map.of();
+    private volatile long lastRefreshAt;
+
+    public JwtVerificationFilter(ObjectMapper objectMapper,
+                                 @Value("${jwt.jwks-uri:${auth.service.url:http://localhost:8081}/auth/.well-known/jwks.json}") String jwksUri,
+                                 @Value("${jwt.jwks.min-refresh-interval:30s}") Duration minRefreshInterval) {
+        this.webClient = WebClient.create();
+        this.objectMapper = objectMapper;
+        this.jwksUri = jwksUri;
+        this.minRefreshIntervalMs = minRefreshInterval.toMillis();
+
+        // The locator only reads the cache; fetching happens reactively before parsing
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        PublicKey key = header.getKeyId() != null ? publicKeys.get(header.getKeyId()) : null;
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        logger.info("Gateway JWT verification enabled, keys from {}", jwksUri);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+        String token = authHeader.substring(BEARER_PREFIX.length());
+
+        String kid = readKeyId(token);
+        Mono<Void> keysReady = (kid == null || publicKeys.containsKey(kid)) ? Mono.empty() : refreshKeys();
+
+        return keysReady.then(Mono.fromCallable(() -> verify(token)))
+                .flatMap(valid -> {
+                    if (!valid) {
+                        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                        return exchange.getResponse().setComplete();
+                    }
+                    return chain.filter(exchange);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private boolean verify(String token) {
+        try {
+            jwtParser.parseSignedClaims(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected token: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Reads the kid from the (unverified) header so a missing key can be fetched without blocking
+    private String readKeyId(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            byte[] header = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            JsonNode kid = objectMapper.readTree(new String(header, StandardCharsets.UTF_8)).get("kid");
+            return kid != null ? kid.asText() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // Rate limited so tokens with made-up kids cannot make us hammer auth-service
+    private Mono<Void> refreshKeys() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (lastRefreshAt != 0 && now - lastRefreshAt < minRefreshIntervalMs) {
+                return Mono.empty();
+            }
+            lastRefreshAt = now;
+        }
+        return webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(Duration.ofSeconds(2))
+                .doOnNext(this::storeKeys)
+                .doOnError(e -> logger.error("Failed to fetch JWKS from {}: {}", jwksUri, e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private void storeKeys(JsonNode jwks) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText())) {
+                continue;
+            }
+            try {
+                Base64.Decoder decoder = Base64.getUrlDecoder();
+                RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                        new BigInteger(1, decoder.decode(jwk.path("n").asText())),
+                        new BigInteger(1, decoder.decode(jwk.path("e").asText())));
+                keys.put(jwk.path("kid").asText(), KeyFactory.getInstance("RSA").generatePublic(spec));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                logger.warn("Skipping invalid JWK {}: {}", jwk.path("kid").asText(), e.getMessage());
+            }
+        }
+        publicKeys = Map.copyOf(keys);
+        logger.info("Loaded {} JWT verification keys from {}", keys.size(), jwksUri);
+    }
+}
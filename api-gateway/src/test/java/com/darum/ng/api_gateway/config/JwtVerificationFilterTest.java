@@ -0,0 +1,162 @@
+package com.darum.ng.api_gateway.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtVerificationFilterTest {
+
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(1);
+
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+    private final AtomicInteger routedRequests = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        routedRequests.incrementAndGet();
+        return Mono.empty();
+    };
+    private KeyPair publishedKey;
+    private HttpServer jwksServer;
+    private JwtVerificationFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        publishedKey = generateKeyPair();
+        byte[] jwks = jwks("2024-06", (RSAPublicKey) publishedKey.getPublic()).getBytes(StandardCharsets.UTF_8);
+
+        jwksServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jwksServer.createContext("/auth/.well-known/jwks.json", exchange -> {
+            jwksRequests.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(jwks);
+            }
+        });
+        jwksServer.start();
+
+        String jwksUri = "http://127.0.0.1:" + jwksServer.getAddress().getPort() + "/auth/.well-known/jwks.json";
+        filter = new JwtVerificationFilter(new ObjectMapper(), jwksUri, MIN_REFRESH_INTERVAL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwksServer.stop(0);
+    }
+
+    @Test
+    void publishedKidIsRoutedAfterOneFetch() {
+        assertThat(filter(rs256("2024-06", publishedKey.getPrivate())).getResponse().getStatusCode()).isNull();
+        assertThat(filter(rs256("2024-06", publishedKey.getPrivate())).getResponse().getStatusCode()).isNull();
+
+        assertThat(routedRequests).hasValue(2);
+        assertThat(jwksRequests).hasValue(1);
+    }
+
+    @Test
+    void unknownKidRefetchesOnceThenIsRejected() throws Exception {
+        filter(rs256("2024-06", publishedKey.getPrivate()));
+        PrivateKey unpublished = generateKeyPair().getPrivate();
+        String firstUnknown = rs256("2025-01", unpublished);
+        String secondUnknown = rs256("2025-02", unpublished);
+        Thread.sleep(MIN_REFRESH_INTERVAL.plusMillis(100).toMillis());
+
+        assertThat(filter(firstUnknown).getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(jwksRequests).hasValue(2);
+
+        // Within the interval another made-up kid is rejected from the cache
+        assertThat(filter(secondUnknown).getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(jwksRequests).hasValue(2);
+        assertThat(routedRequests).hasValue(1);
+    }
+
+    @Test
+    void hs256TokenIsRejected() {
+        filter(rs256("2024-06", publishedKey.getPrivate()));
+
+        // Names the published kid, so only the algorithm tells it apart
+        String forged = Jwts.builder()
+                .header().keyId("2024-06").and()
+                .subject("mallory")
+                .claim("role", "ROLE_ADMIN")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("a-shared-secret-that-is-at-least-32-bytes".getBytes(StandardCharsets.UTF_8)),
+                        Jwts.SIG.HS256)
+                .compact();
+
+        assertThat(filter(forged).getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(routedRequests).hasValue(1);
+    }
+
+    @Test
+    void requestWithoutTokenPassesThrough() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/departments"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(routedRequests).hasValue(1);
+        assertThat(jwksRequests).hasValue(0);
+    }
+
+    private MockServerWebExchange filter(String token) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+        return exchange;
+    }
+
+    private static String rs256(String kid, PrivateKey key) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("alice")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key, Jwts.SIG.RS256)
+                .compact();
+    }
+
+    // Same shape as auth-service's JwksController
+    private static String jwks(String kid, RSAPublicKey key) {
+        return "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"" + kid + "\",\"use\":\"sig\",\"alg\":\"RS256\","
+                + "\"n\":\"" + base64Url(key.getModulus()) + "\",\"e\":\"" + base64Url(key.getPublicExponent()) + "\"}]}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static KeyPair generateKeyPair() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
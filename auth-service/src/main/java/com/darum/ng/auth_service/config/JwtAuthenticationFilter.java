@@ -1,6 +1,8 @@
 package com.darum.ng.auth_service.config;
 
 import com.darum.ng.auth_service.util.JwtUtil;
+import com.darum.ng.auth_service.util.TokenCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,9 +20,11 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenCache tokenCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenCache tokenCache) {
         this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
     }
 
 
@@ -37,12 +41,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             final   String token = authorizationHeader.substring("Bearer ".length());
 //final   String token = authorizationHeader.substring(7);
-            final String username = jwtUtil.extractUsername(token);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if(jwtUtil.validateToken(token)) {
-                   // String role = jwtUtil.extractClaim(token, claims ->  claims.get("role").toString());
-                    String role = jwtUtil.extractClaim(token, claims ->  claims.get("role",  String.class));
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // One parse verifies signature and expiry and yields every claim we need;
+                // repeat presentations of the same token are served from the cache
+                final Claims claims = tokenCache.get(token, jwtUtil::parse);
+                final String username = claims.getSubject();
+
+                if (username != null) {
+                    String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
 
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             username, null, Collections.singleton(new SimpleGrantedAuthority(role)));
@@ -54,6 +61,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         } catch (Exception e) {
             logger.error("Error while processing jwt token", e);
         }
+        filterChain.doFilter(request, response);
     }
 }
 
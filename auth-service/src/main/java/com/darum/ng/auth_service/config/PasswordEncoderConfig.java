@@ -1,14 +1,47 @@
 package com.darum.ng.auth_service.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
 public class PasswordEncoderConfig {
+    // Log2 work factor; pick it for the target hash time on the production hardware with
+    // BCryptStrengthCalibration (src/test/java/.../benchmark). Existing hashes keep their own cost.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password-hashing.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    // BCrypt is CPU bound: more threads than cores only adds contention. The queue is kept short
+    // (queue-capacity x hash time / threads is the worst wait) and a full queue rejects the task,
+    // which PasswordHasher turns into a 503 instead of letting hashing take over request threads.
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(@Value("${auth.password-hashing.threads:0}") int threads,
+                                                      @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                                      MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // executor.queued / executor.active / executor.pool.size tagged name=password.hashing
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+        return executor;
     }
 }
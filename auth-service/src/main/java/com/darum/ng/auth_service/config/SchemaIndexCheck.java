@@ -0,0 +1,107 @@
+package com.darum.ng.auth_service.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Refuses to start auth-service when the users table lacks an index that login or
+ * registration depends on; without them every login is a sequential scan.
+ * <p>
+ * Matching is by leading key columns, whatever the index name: an index on {@code (email, x)}
+ * satisfies a required {@code (email)}, one on {@code (x, email)} does not. Databases whose
+ * unique constraints Hibernate created therefore keep passing. Runs after Flyway (it needs JdbcTemplate,
+ * which Boot orders after the migration). Skipped on anything but PostgreSQL and when
+ * {@code schema.index-check.enabled=false}.
+ */
+@Component
+public class SchemaIndexCheck {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexCheck.class);
+
+    static final List<RequiredIndex> REQUIRED_INDEXES = List.of(
+            new RequiredIndex("users", List.of("username"), List.of(), "findByUsername, existsByUsername, findExistingUsernames"),
+            new RequiredIndex("users", List.of("email"), List.of(), "findByEmail, existsByEmail, findExistingEmails"),
+            new RequiredIndex("users", List.of("provisioning_key"), List.of(), "findByProvisioningKeyIn"));
+
+    // Key columns and INCLUDE columns of every valid index in the current schema
+    private static final String INDEX_QUERY = """
+            SELECT t.relname AS table_name, x.indnkeyatts AS key_count,
+                   (SELECT string_agg(pg_get_indexdef(x.indexrelid, k, true), ',' ORDER BY k)
+                    FROM generate_series(1, x.indnatts) AS k) AS columns
+            FROM pg_index x
+            JOIN pg_class t ON t.oid = x.indrelid
+            JOIN pg_namespace n ON n.oid = t.relnamespace
+            WHERE n.nspname = current_schema() AND x.indisvalid
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public SchemaIndexCheck(JdbcTemplate jdbcTemplate, @Value("${schema.index-check.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void verify() {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+        List<ExistingIndex> existing = jdbcTemplate.query(INDEX_QUERY, (rs, rowNum) -> {
+            List<String> columns = Arrays.asList(rs.getString("columns").split(","));
+            int keyCount = rs.getInt("key_count");
+            return new ExistingIndex(rs.getString("table_name"), columns.subList(0, keyCount), columns);
+        });
+
+        List<String> missing = new ArrayList<>();
+        for (RequiredIndex required : REQUIRED_INDEXES) {
+            if (existing.stream().noneMatch(required::isSatisfiedBy)) {
+                missing.add(required.describe());
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing or invalid database indexes (run the Flyway migrations): " + missing);
+        }
+        logger.info("Schema index check passed ({} required indexes)", REQUIRED_INDEXES.size());
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            logger.warn("Skipping schema index check, cannot read database metadata: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    record RequiredIndex(String table, List<String> keyColumns, List<String> includedColumns, String usedBy) {
+
+        // The required key columns must lead the index; included columns may be keys or INCLUDE columns
+        boolean isSatisfiedBy(ExistingIndex index) {
+            return index.table().equals(table)
+                    && index.keyColumns().size() >= keyColumns.size()
+                    && index.keyColumns().subList(0, keyColumns.size()).equals(keyColumns)
+                    && index.allColumns().containsAll(includedColumns);
+        }
+
+        String describe() {
+            String include = includedColumns.isEmpty() ? "" : " INCLUDE (" + String.join(", ", includedColumns) + ")";
+            return table + " (" + String.join(", ", keyColumns) + ")" + include + " for " + usedBy;
+        }
+    }
+
+    record ExistingIndex(String table, List<String> keyColumns, List<String> allColumns) {
+    }
+}
@@ -25,6 +25,9 @@ public class SecurityConfig {
     @Autowired
     private CustomAccessDeniedHandler customAccessDeniedHandler;
 
+    @Autowired
+    private ServiceTokenAuthenticationFilter serviceTokenAuthenticationFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -34,15 +37,23 @@ public class SecurityConfig {
 
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
                         .requestMatchers("/auth/register", "/auth/login", "/auth/test/**",
-                                "/actuator/health", "/actuator/info", "/auth/register/employee","/auth/register/admin", "/auth/register/manager").permitAll()
+                                "/actuator/health", "/actuator/info", "/auth/register/employee", "/auth/register/admin", "/auth/register/manager",
+                                "/auth/.well-known/jwks.json").permitAll()
+                        // Bulk onboarding sets employee/department links, which become token claims:
+                        // only employee-service's provisioning dispatcher (or an admin) may call it
+                        .requestMatchers("/auth/register/employee/batch").hasAnyRole("ADMIN", "SERVICE")
                         .requestMatchers("/auth/admin/**").hasRole("ADMIN")
                         .requestMatchers("/auth/manager/**").hasRole("MANAGER")
+                        // The employee link sets the departmentId claim: a manager must not be able to move anyone
+                        .requestMatchers("/auth/users/*/employee-link").hasAnyRole("ADMIN", "SERVICE")
+                        .requestMatchers("/auth/users/**").hasAnyRole("ADMIN", "MANAGER")
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(exception -> exception
                         .accessDeniedHandler(customAccessDeniedHandler)
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(serviceTokenAuthenticationFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
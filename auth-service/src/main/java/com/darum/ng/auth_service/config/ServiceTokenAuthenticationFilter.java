@@ -0,0 +1,51 @@
+package com.darum.ng.auth_service.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+/**
+ * Authenticates calls from employee-service (user provisioning, employee links) that carry the
+ * shared {@code X-Service-Token} as ROLE_SERVICE. The dispatcher runs outside any user request,
+ * so it has no user token to forward. Without {@code auth.service-token} configured no request
+ * is ever authenticated this way.
+ */
+@Component
+public class ServiceTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Service-Token";
+    public static final String ROLE_SERVICE = "ROLE_SERVICE";
+
+    private final byte[] serviceToken;
+
+    public ServiceTokenAuthenticationFilter(@Value("${auth.service-token:}") String serviceToken) {
+        this.serviceToken = serviceToken.isBlank() ? null : serviceToken.getBytes(StandardCharsets.UTF_8);
+        if (this.serviceToken == null) {
+            logger.warn("auth.service-token is not set: service-to-service calls (user provisioning, employee links) will be rejected");
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String presented = request.getHeader(HEADER);
+        if (serviceToken != null && presented != null
+                && MessageDigest.isEqual(serviceToken, presented.getBytes(StandardCharsets.UTF_8))) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    "employee-service", null, Collections.singleton(new SimpleGrantedAuthority(ROLE_SERVICE)));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
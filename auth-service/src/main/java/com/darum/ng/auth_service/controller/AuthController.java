@@ -2,16 +2,24 @@ package com.darum.ng.auth_service.controller;
 
 import com.darum.ng.auth_service.dto.AuthRequest;
 import com.darum.ng.auth_service.dto.AuthResponse;
+import com.darum.ng.auth_service.dto.AuthenticationResult;
+import com.darum.ng.auth_service.dto.BatchRegistrationRequest;
+import com.darum.ng.auth_service.dto.BatchRegistrationResponse;
+import com.darum.ng.auth_service.dto.EmployeeLinkRequest;
 import com.darum.ng.auth_service.dto.TokenValidationResponse;
 import com.darum.ng.auth_service.dto.UsernameAvailabilityResponse;
 import com.darum.ng.auth_service.entity.User;
-import com.darum.ng.auth_service.exception.UserNotFoundException;
+import com.darum.ng.auth_service.exception.InvalidCredentialsException;
+import com.darum.ng.auth_service.exception.ServiceOverloadedException;
 import com.darum.ng.auth_service.service.AuthService;
+import com.darum.ng.auth_service.util.LoginThrottler;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,9 +28,11 @@ import java.util.Map;
 public class AuthController {
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     private final AuthService authService;
+    private final LoginThrottler loginThrottler;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, LoginThrottler loginThrottler) {
         this.authService = authService;
+        this.loginThrottler = loginThrottler;
     }
 
     @PostMapping("/register")
@@ -39,18 +49,17 @@ public class AuthController {
         String email = authRequest.getUsername() + "@zenithCloud.com";
         String role = "ROLE_EMPLOYEE";
 
-        User user = authService.registerUser(
+        AuthenticationResult result = authService.registerAndAuthenticate(
                 authRequest.getUsername(),  // 1st - username ✓
                 email,                      // 2nd - email ✓
                 authRequest.getPassword(),  // 3rd - password ✓
                 role                        // 4th - role ✓
         );
-        String token = authService.loginUser(authRequest.getUsername(), authRequest.getPassword());
 
         AuthResponse authResponse = new AuthResponse(
-                token,
-                user.getUsername(),
-                user.getRole().name(),
+                result.token(),
+                result.user().getUsername(),
+                result.user().getRole().name(),
                 "User registered successfully"
         );
         logger.info("User registered successfully: {}", authRequest.getUsername());
@@ -58,7 +67,7 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-public ResponseEntity<AuthResponse>loginUser(@RequestBody AuthRequest authRequest) {
+public ResponseEntity<AuthResponse>loginUser(@RequestBody AuthRequest authRequest, HttpServletRequest request) {
         logger.info("Login request for user: {}", authRequest.getUsername());
 
         if (authRequest.getUsername() == null || authRequest.getUsername().trim().isEmpty()) {
@@ -68,16 +77,22 @@ public ResponseEntity<AuthResponse>loginUser(@RequestBody AuthRequest authReques
             throw new IllegalArgumentException("Password is required");
         }
 
-        // Authenticate user - exceptions will be caught by global handler
-        String token = authService.loginUser(authRequest.getUsername(), authRequest.getPassword());
+        // Over the per-username / per-IP attempt limit: 429 before any password hashing
+        loginThrottler.check(authRequest.getUsername(), request);
 
-        User user = authService.findByUsername(authRequest.getUsername())
-                .orElseThrow(()-> new UserNotFoundException("User not found after successful login"));
+        // Authenticate user - exceptions will be caught by global handler
+        AuthenticationResult result;
+        try {
+            result = authService.loginUser(authRequest.getUsername(), authRequest.getPassword());
+        } catch (InvalidCredentialsException e) {
+            loginThrottler.recordFailure(authRequest.getUsername(), request);
+            throw e;
+        }
 
         AuthResponse authResponse = new AuthResponse(
-                token,
-                user.getUsername(),
-                user.getRole().name(),
+                result.token(),
+                result.user().getUsername(),
+                result.user().getRole().name(),
                 "Login successful"
         );
         logger.info("Login successful for user: {}", authRequest.getUsername());
@@ -117,6 +132,9 @@ public  ResponseEntity<Map<String, Object>> registerEmployee(@RequestBody  Map<S
             response.put("message", "Employee User Account registered successfully");
 
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            // 503, so callers retry later instead of treating it as a rejected registration
+            throw e;
         } catch (Exception e) {
             logger.error("Employee registration failed: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -125,12 +143,27 @@ public  ResponseEntity<Map<String, Object>> registerEmployee(@RequestBody  Map<S
         }
 }
 
+    // Bulk onboarding: always ROLE_EMPLOYEE; every item comes back with its userId or error
+    @PostMapping("/register/employee/batch")
+    public ResponseEntity<BatchRegistrationResponse> registerEmployees(@RequestBody BatchRegistrationRequest request) {
+        if (request.getUsers() == null || request.getUsers().isEmpty()) {
+            throw new IllegalArgumentException("At least one user is required");
+        }
+        if (request.getUsers().size() > BatchRegistrationRequest.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch can contain at most " + BatchRegistrationRequest.MAX_BATCH_SIZE + " users");
+        }
+        logger.info("Batch registration request for {} users", request.getUsers().size());
+        return ResponseEntity.ok(authService.registerEmployees(request.getUsers()));
+    }
+
     @PostMapping("/register/admin")
     public ResponseEntity<Map<String, Object>> registerAdmin(@RequestBody Map<String, Object> request) {
         try {
             Map<String, Object> adminRequest = new HashMap<>(request);
             adminRequest.put("role", "ROLE_ADMIN");
             return registerEmployee(adminRequest);
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Admin registration failed: " + e.getMessage());
@@ -144,6 +177,8 @@ public  ResponseEntity<Map<String, Object>> registerEmployee(@RequestBody  Map<S
             Map<String, Object> managerRequest = new HashMap<>(request);
             managerRequest.put("role", "ROLE_MANAGER");
             return registerEmployee(managerRequest);
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Manager registration failed: " + e.getMessage());
@@ -151,6 +186,41 @@ public  ResponseEntity<Map<String, Object>> registerEmployee(@RequestBody  Map<S
         }
     }
 
+    // Called by employee-service (service token) when an employee is created or changes department;
+    // ADMIN or SERVICE only, see SecurityConfig
+    @PutMapping("/users/{userId}/employee-link")
+    public ResponseEntity<Map<String, Object>> linkEmployee(@PathVariable Long userId, @RequestBody EmployeeLinkRequest request) {
+        logger.info("Employee link request for user ID: {}", userId);
+
+        if (request.getEmployeeId() == null) {
+            throw new IllegalArgumentException("Employee ID is required");
+        }
+        User user = authService.linkEmployee(userId, request.getEmployeeId(), request.getDepartmentId());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("userId", user.getId());
+        response.put("employeeId", user.getEmployeeId());
+        response.put("departmentId", user.getDepartmentId());
+        response.put("message", "Employee linked successfully");
+        return ResponseEntity.ok(response);
+    }
+
+    // Re-issue the caller's token so it carries the current employee/department claims
+    @PostMapping("/token/refresh")
+    public ResponseEntity<AuthResponse> refreshToken(Principal principal) {
+        logger.info("Token refresh request for user: {}", principal.getName());
+
+        AuthenticationResult result = authService.refreshToken(principal.getName());
+
+        AuthResponse authResponse = new AuthResponse(
+                result.token(),
+                result.user().getUsername(),
+                result.user().getRole().name(),
+                "Token refreshed successfully"
+        );
+        return ResponseEntity.ok(authResponse);
+    }
+
 @GetMapping("/validate")
 public ResponseEntity<TokenValidationResponse>validateToken(@RequestHeader("Authorization") String authHeader) {
     logger.info("Token validation request");
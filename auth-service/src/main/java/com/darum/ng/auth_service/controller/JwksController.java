@@ -0,0 +1,77 @@
+package com.darum.ng.auth_service.controller;
+
+import com.darum.ng.auth_service.util.JwtSigningKeys;
+import com.darum.ng.auth_service.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigInteger;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Publishes the RS256 verification keys so other services can validate tokens locally
+@RestController
+@RequestMapping("/auth")
+@ConditionalOnProperty(name = "jwt.algorithm", havingValue = "RS256")
+public class JwksController {
+    private static final Logger logger = LoggerFactory.getLogger(JwksController.class);
+    private final JwtSigningKeys signingKeys;
+
+    public JwksController(JwtSigningKeys signingKeys) {
+        this.signingKeys = signingKeys;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        List<Map<String, String>> keys = new ArrayList<>();
+        signingKeys.getPublicKeys().forEach((kid, key) -> keys.add(toJwk(kid, key)));
+
+        // Verifiers refetch on an unknown kid, so a short max-age is enough
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", keys));
+    }
+
+    // ADMIN ONLY (secured under /auth/admin/**): pick up rotated key files
+    @PostMapping("/admin/keys/reload")
+    public ResponseEntity<Map<String, Object>> reloadKeys() {
+        signingKeys.reload();
+        logger.info("JWT signing keys reloaded, active kid {}", signingKeys.getActiveKeyId());
+        return ResponseEntity.ok(Map.of(
+                "activeKeyId", signingKeys.getActiveKeyId(),
+                "publishedKeyIds", signingKeys.getPublicKeys().keySet()));
+    }
+
+    private static Map<String, String> toJwk(String kid, RSAPublicKey key) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", JwtUtil.ALGORITHM_RS256);
+        jwk.put("n", base64Url(key.getModulus()));
+        jwk.put("e", base64Url(key.getPublicExponent()));
+        return jwk;
+    }
+
+    // JWK integers are unsigned big-endian, so drop the sign byte BigInteger may add
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
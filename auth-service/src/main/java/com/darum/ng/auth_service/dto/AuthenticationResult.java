@@ -0,0 +1,10 @@
+package com.darum.ng.auth_service.dto;
+
+import com.darum.ng.auth_service.entity.User;
+
+/**
+ * Outcome of a successful login or self-registration: the user as loaded (or saved) and the
+ * token issued for it, so callers need neither a second lookup nor a second password check.
+ */
+public record AuthenticationResult(User user, String token) {
+}
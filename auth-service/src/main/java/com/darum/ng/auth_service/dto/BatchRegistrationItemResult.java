@@ -0,0 +1,27 @@
+package com.darum.ng.auth_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRegistrationItemResult {
+    // Position of the item in the request
+    private int index;
+    private String username;
+    private String email;
+    // Set when the user was created
+    private Long userId;
+    // Set when the item was rejected
+    private String error;
+
+    public static BatchRegistrationItemResult created(int index, String username, String email, Long userId) {
+        return new BatchRegistrationItemResult(index, username, email, userId, null);
+    }
+
+    public static BatchRegistrationItemResult failed(int index, String username, String email, String error) {
+        return new BatchRegistrationItemResult(index, username, email, null, error);
+    }
+}
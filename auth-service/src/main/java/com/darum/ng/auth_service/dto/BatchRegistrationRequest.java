@@ -0,0 +1,16 @@
+package com.darum.ng.auth_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRegistrationRequest {
+    public static final int MAX_BATCH_SIZE = 10000;
+
+    private List<EmployeeRegistrationRequest> users;
+}
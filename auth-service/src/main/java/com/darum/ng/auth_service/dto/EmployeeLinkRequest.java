@@ -0,0 +1,13 @@
+package com.darum.ng.auth_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeLinkRequest {
+    private Long employeeId;
+    private Long departmentId;
+}
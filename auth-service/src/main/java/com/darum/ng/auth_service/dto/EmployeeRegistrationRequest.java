@@ -0,0 +1,22 @@
+package com.darum.ng.auth_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeRegistrationRequest {
+    private String username;
+    private String email;
+    private String password;
+    private String firstName;
+    private String lastName;
+    // Optional: link the new user to its employee record right away
+    private Long employeeId;
+    private Long departmentId;
+    // Set by employee-service's provisioning outbox: a retry with the same key gets back the
+    // account the first attempt created instead of a duplicate error
+    private String provisioningKey;
+}
@@ -16,8 +16,10 @@ import java.time.LocalDateTime;
 @Table(name = "users")
 
 public class User {
+    // Sequence ids (fetched 50 at a time) let batch registration use JDBC batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -35,6 +37,17 @@ public class User {
 
     private boolean enabled = true;
 
+    // Employee record linked by employee-service, carried as token claims
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    // Idempotency key of the provisioning request that created this user (batch registration replays)
+    @Column(name = "provisioning_key", unique = true)
+    private String provisioningKey;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,7 @@
+package com.darum.ng.auth_service.exception;
+
+public class ServiceOverloadedException extends AuthException {
+    public ServiceOverloadedException(String message) {
+        super(message, "SERVICE_OVERLOADED");
+    }
+}
@@ -0,0 +1,14 @@
+package com.darum.ng.auth_service.exception;
+
+public class TooManyLoginAttemptsException extends AuthException {
+    private final long retryAfterSeconds;
+
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super("Too many login attempts, please try again later", "TOO_MANY_LOGIN_ATTEMPTS");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
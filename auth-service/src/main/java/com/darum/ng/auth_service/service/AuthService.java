@@ -2,8 +2,12 @@ package com.darum.ng.auth_service.service;
 
 
 
+import com.darum.ng.auth_service.dto.AuthenticationResult;
+import com.darum.ng.auth_service.dto.BatchRegistrationResponse;
+import com.darum.ng.auth_service.dto.EmployeeRegistrationRequest;
 import com.darum.ng.auth_service.entity.User;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface AuthService {
@@ -14,9 +18,29 @@ public interface AuthService {
     User registerUser(String username, String email, String password, String role);
 
     /**
-     * Login user and return JWT token
+     * Register a new user and issue its first token, without a second lookup or password check
      */
-    String loginUser(String username, String password);
+    AuthenticationResult registerAndAuthenticate(String username, String email, String password, String role);
+
+    /**
+     * Register many employee users at once; each item is reported with its userId or the reason it was rejected
+     */
+    BatchRegistrationResponse registerEmployees(List<EmployeeRegistrationRequest> requests);
+
+    /**
+     * Login user and return it together with its JWT token
+     */
+    AuthenticationResult loginUser(String username, String password);
+
+    /**
+     * Issue a fresh JWT for an already authenticated user, picking up the current employee/department link
+     */
+    AuthenticationResult refreshToken(String username);
+
+    /**
+     * Link a user to its employee record; the ids are carried as claims in tokens issued afterwards
+     */
+    User linkEmployee(Long userId, Long employeeId, Long departmentId);
 
     /**
      * Find user by username
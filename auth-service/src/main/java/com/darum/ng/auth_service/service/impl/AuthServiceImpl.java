@@ -1,36 +1,67 @@
 package com.darum.ng.auth_service.service.impl;
 
+import com.darum.ng.auth_service.dto.AuthenticationResult;
+import com.darum.ng.auth_service.dto.BatchRegistrationItemResult;
+import com.darum.ng.auth_service.dto.BatchRegistrationResponse;
+import com.darum.ng.auth_service.dto.EmployeeRegistrationRequest;
 import com.darum.ng.auth_service.entity.Role;
 import com.darum.ng.auth_service.entity.User;
 import com.darum.ng.auth_service.exception.AccountDisabledException;
 import com.darum.ng.auth_service.exception.GlobalExceptionHandler;
 import com.darum.ng.auth_service.exception.InvalidCredentialsException;
 import com.darum.ng.auth_service.exception.UserAlreadyExistsException;
+import com.darum.ng.auth_service.exception.UserNotFoundException;
 import com.darum.ng.auth_service.repository.UserRepository;
 import com.darum.ng.auth_service.service.AuthService;
 import com.darum.ng.auth_service.util.JwtUtil;
+import com.darum.ng.auth_service.util.PasswordHasher;
+import com.darum.ng.auth_service.util.UserAvailabilityFilter;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class AuthServiceImpl implements AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
     private UserRepository userRepository;
-    private PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private JwtUtil jwtUtil;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final UserAvailabilityFilter availabilityFilter;
 
-    public AuthServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    // Users inserted per transaction in batch registration; matches hibernate.jdbc.batch_size and the users_seq allocation size
+    private static final int BATCH_INSERT_CHUNK_SIZE = 50;
+    // Values per IN (...) lookup, well below the driver's bind parameter limit
+    private static final int BATCH_LOOKUP_CHUNK_SIZE = 1000;
+
+    public AuthServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher, JwtUtil jwtUtil,
+                           EntityManager entityManager, PlatformTransactionManager transactionManager,
+                           UserAvailabilityFilter availabilityFilter) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
-
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.availabilityFilter = availabilityFilter;
     }
 
 
@@ -48,12 +79,12 @@ public class AuthServiceImpl implements AuthService {
             throw new IllegalArgumentException("Email cannot be empty");
         }
 
-        // Check if user already exists
-        if (userRepository.existsByUsername(username)) {
+        // Check if user already exists; names the filter has never seen skip the query
+        if (availabilityFilter.usernameExists(username.trim(), userRepository::existsByUsername)) {
             logger.warn("Registration failed: Username {} already exists", username);
             throw new UserAlreadyExistsException("Username", username);
         }
-        if (userRepository.existsByEmail(email)) {
+        if (availabilityFilter.emailExists(email.trim(), userRepository::existsByEmail)) {
             logger.warn("Registration failed: Email {} already exists", email);
             throw new UserAlreadyExistsException("Email", email);
         }
@@ -70,15 +101,175 @@ public class AuthServiceImpl implements AuthService {
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid role: " + role + ". Valid roles are: ROLE_ADMIN, ROLE_MANAGER, ROLE_EMPLOYEE");
         }
-        User user = new User(username.trim(), email.trim(), passwordEncoder.encode(password), roleEnum);
-        User savedUser = userRepository.save(user);
+        User user = new User(username.trim(), email.trim(), passwordHasher.encode(password), roleEnum);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOf(e, user);
+        }
+        availabilityFilter.add(savedUser.getUsername(), savedUser.getEmail());
 
         logger.info("User registered successfully: {}", username);
         return savedUser;
     }
 
     @Override
-    public String loginUser(String username, String password) {
+    public AuthenticationResult registerAndAuthenticate(String username, String email, String password, String role) {
+        // The password was just hashed and the user just saved: issue the token from the saved user
+        User user = registerUser(username, email, password, role);
+        return new AuthenticationResult(user, generateToken(user));
+    }
+
+    @Override
+    public BatchRegistrationResponse registerEmployees(List<EmployeeRegistrationRequest> requests) {
+        logger.info("Attempting to register batch of {} users", requests.size());
+        BatchRegistrationItemResult[] results = new BatchRegistrationItemResult[requests.size()];
+
+        // 1. Same field rules as registerUser, plus no username/email repeated within the batch
+        Set<String> batchUsernames = new HashSet<>();
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchProvisioningKeys = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EmployeeRegistrationRequest request = requests.get(i);
+            String error = validateRegistration(request);
+            if (error == null && !batchUsernames.add(request.getUsername().trim())) {
+                error = "Duplicate username in batch: " + request.getUsername();
+            }
+            if (error == null && !batchEmails.add(request.getEmail().trim())) {
+                error = "Duplicate email in batch: " + request.getEmail();
+            }
+            if (error == null && request.getProvisioningKey() != null && !batchProvisioningKeys.add(request.getProvisioningKey())) {
+                error = "Duplicate provisioning key in batch: " + request.getProvisioningKey();
+            }
+            if (error != null) {
+                results[i] = request == null
+                        ? BatchRegistrationItemResult.failed(i, null, null, error)
+                        : BatchRegistrationItemResult.failed(i, request.getUsername(), request.getEmail(), error);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // 2. Uniqueness against the database: one query for usernames, one for emails. Not narrowed by the
+        //    availability filter: a user created on another instance since its last rebuild would otherwise
+        //    reach the INSERT and fail its whole chunk on the unique constraint
+        Set<String> existingUsernames = findExisting(batchUsernames, userRepository::findExistingUsernames);
+        Set<String> existingEmails = findExisting(batchEmails, userRepository::findExistingEmails);
+
+        // Replays are idempotent: a user created earlier under the same provisioning key is reported as created.
+        // Matching request fields (username, employeeId) never adopt an existing account.
+        Map<String, User> replayed = findReplayedUsers(batchProvisioningKeys);
+
+        // 3. Hash passwords in parallel on the bounded hashing pool
+        List<Integer> indexes = new ArrayList<>();
+        for (Integer i : candidates) {
+            EmployeeRegistrationRequest request = requests.get(i);
+            User existing = request.getProvisioningKey() != null ? replayed.get(request.getProvisioningKey()) : null;
+            if (existing != null) {
+                results[i] = BatchRegistrationItemResult.created(i, existing.getUsername(), existing.getEmail(), existing.getId());
+            } else if (existingUsernames.contains(request.getUsername().trim())) {
+                results[i] = BatchRegistrationItemResult.failed(i, request.getUsername(), request.getEmail(),
+                        new UserAlreadyExistsException("Username", request.getUsername()).getMessage());
+            } else if (existingEmails.contains(request.getEmail().trim())) {
+                results[i] = BatchRegistrationItemResult.failed(i, request.getUsername(), request.getEmail(),
+                        new UserAlreadyExistsException("Email", request.getEmail()).getMessage());
+            } else {
+                indexes.add(i);
+            }
+        }
+        List<String> hashes = passwordHasher.encodeAll(indexes.stream().map(i -> requests.get(i).getPassword()).toList());
+
+        List<User> users = new ArrayList<>(indexes.size());
+        for (int k = 0; k < indexes.size(); k++) {
+            EmployeeRegistrationRequest request = requests.get(indexes.get(k));
+            User user = new User(request.getUsername().trim(), request.getEmail().trim(), hashes.get(k), Role.ROLE_EMPLOYEE);
+            user.setEmployeeId(request.getEmployeeId());
+            user.setDepartmentId(request.getDepartmentId());
+            user.setProvisioningKey(request.getProvisioningKey());
+            users.add(user);
+        }
+
+        // 4. Insert in chunks, one transaction and one JDBC batch each; a failing chunk does not undo the others
+        for (int from = 0; from < users.size(); from += BATCH_INSERT_CHUNK_SIZE) {
+            int to = Math.min(from + BATCH_INSERT_CHUNK_SIZE, users.size());
+            List<User> chunk = users.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userRepository.saveAll(chunk);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                for (int k = from; k < to; k++) {
+                    User user = users.get(k);
+                    availabilityFilter.add(user.getUsername(), user.getEmail());
+                    results[indexes.get(k)] = BatchRegistrationItemResult.created(indexes.get(k), user.getUsername(), user.getEmail(), user.getId());
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to insert users {}..{} of the batch: {}", from, to - 1, e.getMessage());
+                for (int k = from; k < to; k++) {
+                    User user = users.get(k);
+                    results[indexes.get(k)] = BatchRegistrationItemResult.failed(indexes.get(k), user.getUsername(), user.getEmail(),
+                            "Could not save user: " + e.getMessage());
+                }
+            }
+        }
+
+        List<BatchRegistrationItemResult> resultList = List.of(results);
+        int created = (int) resultList.stream().filter(result -> result.getUserId() != null).count();
+        logger.info("Batch registration finished: {} created, {} failed", created, resultList.size() - created);
+        return new BatchRegistrationResponse(resultList.size(), created, resultList.size() - created, resultList);
+    }
+
+    private Map<String, User> findReplayedUsers(Set<String> provisioningKeys) {
+        if (provisioningKeys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, User> replayed = new HashMap<>();
+        List<String> keys = new ArrayList<>(provisioningKeys);
+        for (int from = 0; from < keys.size(); from += BATCH_LOOKUP_CHUNK_SIZE) {
+            for (User user : userRepository.findByProvisioningKeyIn(keys.subList(from, Math.min(from + BATCH_LOOKUP_CHUNK_SIZE, keys.size())))) {
+                replayed.put(user.getProvisioningKey(), user);
+            }
+        }
+        return replayed;
+    }
+
+    private String validateRegistration(EmployeeRegistrationRequest request) {
+        if (request == null) {
+            return "User is required";
+        }
+        if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
+            return "Username cannot be empty";
+        }
+        if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
+            return "Email cannot be empty";
+        }
+        if (request.getPassword() == null || request.getPassword().trim().isEmpty()) {
+            return "Password cannot be empty";
+        }
+        if (request.getPassword().length() < 6) {
+            return "Password must be at least 6 characters long";
+        }
+        if (request.getProvisioningKey() != null
+                && (request.getProvisioningKey().isBlank() || request.getProvisioningKey().length() > 255)) {
+            return "Provisioning key must be between 1 and 255 characters";
+        }
+        return null;
+    }
+
+    private Set<String> findExisting(Collection<String> values, Function<Collection<String>, List<String>> query) {
+        List<String> all = new ArrayList<>(values);
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < all.size(); from += BATCH_LOOKUP_CHUNK_SIZE) {
+            existing.addAll(query.apply(all.subList(from, Math.min(from + BATCH_LOOKUP_CHUNK_SIZE, all.size()))));
+        }
+        return existing;
+    }
+
+    @Override
+    public AuthenticationResult loginUser(String username, String password) {
         logger.info("Attempting login for user: {}", username);
 
         if (username == null || username.trim().isEmpty()) {
@@ -96,7 +287,7 @@ public class AuthServiceImpl implements AuthService {
 
         User user = userOpt.get();
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHasher.matches(password, user.getPassword())) {
             logger.warn("Login failed: Invalid password for user {}", username);
             throw new InvalidCredentialsException();
         }
@@ -105,13 +296,40 @@ public class AuthServiceImpl implements AuthService {
             throw new AccountDisabledException(username);
         }
 
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+        String token = generateToken(user);
         logger.info("Login successful for user: {}", username);
 
-        return token;
+        return new AuthenticationResult(user, token);
 
     }
 
+    @Override
+    public AuthenticationResult refreshToken(String username) {
+        logger.info("Refreshing token for user: {}", username);
+        User user = findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException(username));
+
+        if (!user.isEnabled()) {
+            throw new AccountDisabledException(username);
+        }
+        return new AuthenticationResult(user, generateToken(user));
+    }
+
+    @Override
+    public User linkEmployee(Long userId, Long employeeId, Long departmentId) {
+        logger.info("Linking user {} to employee {} in department {}", userId, employeeId, departmentId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(String.valueOf(userId)));
+
+        user.setEmployeeId(employeeId);
+        user.setDepartmentId(departmentId);
+        return userRepository.save(user);
+    }
+
+    private String generateToken(User user) {
+        return jwtUtil.generateToken(user.getUsername(), user.getRole().name(), user.getEmployeeId(), user.getDepartmentId());
+    }
+
     @Override
     public Optional<User> findByUsername(String username) {
         // FIX: Actually query the database instead of returning empty
@@ -126,7 +344,21 @@ public class AuthServiceImpl implements AuthService {
         if (username == null || username.trim().isEmpty()) {
             return false;
         }
-        return userRepository.existsByUsername(username.trim());
+        return availabilityFilter.usernameExists(username.trim(), userRepository::existsByUsername);
+    }
+
+    // A concurrent registration (possibly on another instance) won the race past the existence checks
+    private RuntimeException duplicateOf(DataIntegrityViolationException e, User user) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (message.contains("uk_users_username") || message.contains("(username")) {
+            logger.warn("Registration failed: Username {} already exists", user.getUsername());
+            return new UserAlreadyExistsException("Username", user.getUsername());
+        }
+        if (message.contains("uk_users_email") || message.contains("(email")) {
+            logger.warn("Registration failed: Email {} already exists", user.getEmail());
+            return new UserAlreadyExistsException("Email", user.getEmail());
+        }
+        return e;
     }
 
     @GetMapping("/health")
@@ -0,0 +1,154 @@
+package com.darum.ng.auth_service.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * RSA key ring for RS256 tokens (enabled with {@code jwt.algorithm=RS256}).
+ * <p>
+ * Keys are read from {@code jwt.rsa.key-directory}: one PKCS#8 PEM private key per file,
+ * the file name (without {@code .pem}) being the {@code kid}. The greatest kid in lexical order
+ * signs new tokens (e.g. name files by date); every key in the directory stays published in the
+ * JWKS so tokens signed before a rotation keep verifying until the old file is removed.
+ * Without a directory an in-memory key pair is generated (development only).
+ * {@link #reload()} picks up added or removed files, or rotates the in-memory key.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.algorithm", havingValue = "RS256")
+public class JwtSigningKeys {
+    private static final Logger logger = LoggerFactory.getLogger(JwtSigningKeys.class);
+
+    // In-memory mode keeps the previous key published so tokens it signed still verify after a rotation
+    private static final int RETAINED_GENERATED_KEYS = 2;
+
+    private final String keyDirectory;
+    private volatile KeyRing keyRing;
+
+    public JwtSigningKeys(@Value("${jwt.rsa.key-directory:}") String keyDirectory) {
+        this.keyDirectory = keyDirectory;
+        reload();
+    }
+
+    public synchronized void reload() {
+        KeyRing loaded = (keyDirectory == null || keyDirectory.isBlank()) ? rotateGeneratedKey() : loadFromDirectory();
+        this.keyRing = loaded;
+        logger.info("JWT signing keys loaded: active kid {}, published kids {}", loaded.activeKid, loaded.publicKeys.keySet());
+    }
+
+    public String getActiveKeyId() {
+        return keyRing.activeKid;
+    }
+
+    public PrivateKey getActivePrivateKey() {
+        return keyRing.activePrivateKey;
+    }
+
+    public RSAPublicKey getPublicKey(String kid) {
+        return kid != null ? keyRing.publicKeys.get(kid) : null;
+    }
+
+    public Map<String, RSAPublicKey> getPublicKeys() {
+        return keyRing.publicKeys;
+    }
+
+    private KeyRing loadFromDirectory() {
+        TreeMap<String, RSAPrivateCrtKey> privateKeys = new TreeMap<>();
+        try (Stream<Path> files = Files.list(Paths.get(keyDirectory))) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".pem")).toList()) {
+                String kid = file.getFileName().toString().replaceFirst("\\.pem$", "");
+                privateKeys.put(kid, readPrivateKey(file));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT key directory " + keyDirectory, e);
+        }
+        if (privateKeys.isEmpty()) {
+            throw new IllegalStateException("No *.pem signing keys found in " + keyDirectory);
+        }
+
+        Map<String, RSAPublicKey> publicKeys = new LinkedHashMap<>();
+        privateKeys.descendingMap().forEach((kid, key) -> publicKeys.put(kid, toPublicKey(key)));
+        String activeKid = privateKeys.lastKey();
+        return new KeyRing(activeKid, privateKeys.get(activeKid), Collections.unmodifiableMap(publicKeys));
+    }
+
+    private KeyRing rotateGeneratedKey() {
+        logger.warn("jwt.rsa.key-directory is not set: generating an in-memory RSA key. "
+                + "Tokens will not survive a restart and instances will not share keys.");
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            String kid = "generated-" + System.currentTimeMillis();
+
+            Map<String, RSAPublicKey> publicKeys = new LinkedHashMap<>();
+            publicKeys.put(kid, (RSAPublicKey) keyPair.getPublic());
+            if (keyRing != null) {
+                List<Map.Entry<String, RSAPublicKey>> previous = List.copyOf(keyRing.publicKeys.entrySet());
+                previous.stream()
+                        .limit(RETAINED_GENERATED_KEYS - 1)
+                        .forEach(entry -> publicKeys.put(entry.getKey(), entry.getValue()));
+            }
+            return new KeyRing(kid, keyPair.getPrivate(), Collections.unmodifiableMap(publicKeys));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate RSA signing key", e);
+        }
+    }
+
+    private static RSAPrivateCrtKey readPrivateKey(Path file) throws IOException {
+        String pem = Files.readString(file)
+                .replaceAll("-----(BEGIN|END) PRIVATE KEY-----", "")
+                .replaceAll("\\s", "");
+        try {
+            return (RSAPrivateCrtKey) KeyFactory.getInstance("RSA")
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException | ClassCastException e) {
+            throw new IllegalStateException("Invalid PKCS#8 RSA private key in " + file, e);
+        }
+    }
+
+    private static RSAPublicKey toPublicKey(RSAPrivateCrtKey privateKey) {
+        try {
+            return (RSAPublicKey) KeyFactory.getInstance("RSA")
+                    .generatePublic(new RSAPublicKeySpec(privateKey.getModulus(), privateKey.getPublicExponent()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot derive RSA public key", e);
+        }
+    }
+
+    // Immutable snapshot so a reload swaps all keys at once
+    private static final class KeyRing {
+        private final String activeKid;
+        private final PrivateKey activePrivateKey;
+        private final Map<String, RSAPublicKey> publicKeys;
+
+        private KeyRing(String activeKid, PrivateKey activePrivateKey, Map<String, RSAPublicKey> publicKeys) {
+            this.activeKid = activeKid;
+            this.activePrivateKey = activePrivateKey;
+            this.publicKeys = publicKeys;
+        }
+    }
+}
@@ -1,51 +1,100 @@
 package com.darum.ng.auth_service.util;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
-    private final Environment environment;
 
-    @Value("${jwt.secret:}")
-    private String configuredSecret;
-
-    @Value("${jwt.expiration:86400000}") // Default 24 hours in milliseconds
-    private Long expiration;
+    // Claim names shared with the services that read our tokens
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_EMPLOYEE_ID = "employeeId";
+    public static final String CLAIM_DEPARTMENT_ID = "departmentId";
 
     // Default secret for development only - NEVER use in production
     private static final String DEFAULT_SECRET = "dev-default-insecure-secret-change-in-production-2024";
 
-    public JwtUtil(Environment environment) {
-        this.environment = environment;
-    }
+    public static final String ALGORITHM_HS256 = "HS256";
+    public static final String ALGORITHM_RS256 = "RS256";
 
-    private SecretKey getSigningKey() {
-        String secretToUse = getValidSecret();
-        logger.info("JWT Configuration: Using secret key with {} characters", secretToUse.length());
+    private final Long expiration;
 
-        // Log environment source for debugging
-        String[] activeProfiles = environment.getActiveProfiles();
-        if (activeProfiles.length > 0) {
-            logger.info("Active Spring profiles: {}", String.join(", ", activeProfiles));
-        }
+    // HS256: shared HMAC key. RS256: key ring, tokens carry the kid of the key that signed them.
+    private final SecretKey signingKey;
+    private final JwtSigningKeys signingKeys;
 
-        return Keys.hmacShaKeyFor(secretToUse.getBytes());
+    // Built once at startup, thread-safe
+    private final JwtParser jwtParser;
+
+    public JwtUtil(String configuredSecret, Long expiration) {
+        this(configuredSecret, expiration, ALGORITHM_HS256, Optional.empty());
     }
-    private String getValidSecret() {
+
+    @Autowired
+    public JwtUtil(@Value("${jwt.secret:}") String configuredSecret,
+                   @Value("${jwt.expiration:86400000}") Long expiration, // Default 24 hours in milliseconds
+                   @Value("${jwt.algorithm:HS256}") String algorithm,
+                   Optional<JwtSigningKeys> signingKeys) {
+        this.expiration = expiration;
+
+        if (ALGORITHM_RS256.equalsIgnoreCase(algorithm)) {
+            this.signingKey = null;
+            this.signingKeys = signingKeys.orElseThrow(() ->
+                    new IllegalStateException("jwt.algorithm=RS256 requires the JwtSigningKeys bean"));
+            logger.info("JWT Configuration: RS256 with key id {}", this.signingKeys.getActiveKeyId());
+
+            // Verification picks the public key named by the token's kid, so rotated keys keep working
+            this.jwtParser = Jwts.parser()
+                    .keyLocator(new LocatorAdapter<Key>() {
+                        @Override
+                        protected Key locate(JwsHeader header) {
+                            Key key = JwtUtil.this.signingKeys.getPublicKey(header.getKeyId());
+                            if (key == null) {
+                                throw new JwtException("Unknown signing key id: " + header.getKeyId());
+                            }
+                            return key;
+                        }
+                    })
+                    .build();
+        } else if (ALGORITHM_HS256.equalsIgnoreCase(algorithm)) {
+            String secretToUse = getValidSecret(configuredSecret);
+            logger.info("JWT Configuration: Using secret key with {} characters", secretToUse.length());
+
+            this.signingKey = Keys.hmacShaKeyFor(secretToUse.getBytes());
+            this.signingKeys = null;
+            this.jwtParser = Jwts.parser()
+                    .verifyWith(signingKey)
+                    .build();
+        } else {
+            throw new IllegalStateException("Unsupported jwt.algorithm: " + algorithm + " (expected HS256 or RS256)");
+        }
+    }
+
+    /**
+     * Resolves the HS256 secret: the {@code JWT_SECRET} environment variable, then
+     * {@code jwt.secret} unless it is blank or contains {@code "default-insecure"}, then the
+     * development default. employee-service's {@code JwtVerifier} applies the same rule and
+     * must be changed with it.
+     */
+    private static String getValidSecret(String configuredSecret) {
         // Priority 1: JWT_SECRET environment variable (most secure)
         String envSecret = System.getenv("JWT_SECRET");
         if (envSecret != null && !envSecret.trim().isEmpty()) {
@@ -71,6 +120,17 @@ public class JwtUtil {
         return DEFAULT_SECRET;
     }
 
+    /**
+     * Verifies the signature and expiration of the token and returns its claims.
+     * This is the only place a token is parsed; callers should parse once per request
+     * and read every claim they need from the result.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parse(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
     // Extract username from token
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -83,46 +143,48 @@ public class JwtUtil {
 
     // Extract specific claim from token
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-    // Extract all claims from token
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-    // Check if token is expired
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return claimsResolver.apply(parse(token));
     }
 
     // Generate token for user
     public String generateToken(String username, String role) {
+        return generateToken(username, role, null, null);
+    }
+
+    // Generate token for user, including the linked employee and department when known
+    public String generateToken(String username, String role, Long employeeId, Long departmentId) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);
+        claims.put(CLAIM_ROLE, role);
+        if (employeeId != null) {
+            claims.put(CLAIM_EMPLOYEE_ID, employeeId);
+        }
+        if (departmentId != null) {
+            claims.put(CLAIM_DEPARTMENT_ID, departmentId);
+        }
         claims.put("iss", "employee-management-system");
         claims.put("aud", "employee-management-client");
         return createToken(claims, username);
     }
     // Create token with claims
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+        var builder = Jwts.builder()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .expiration(new Date(System.currentTimeMillis() + expiration));
+        if (signingKeys != null) {
+            builder.header().keyId(signingKeys.getActiveKeyId()).and()
+                    .signWith(signingKeys.getActivePrivateKey(), Jwts.SIG.RS256);
+        } else {
+            builder.signWith(signingKey, Jwts.SIG.HS256);
+        }
+        return builder.compact();
     }
 
     // Validate token with username
     public Boolean validateToken(String token, String username) {
         try {
-            final String extractedUsername = extractUsername(token);
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
+            return parse(token).getSubject().equals(username);
         } catch (Exception e) {
             logger.error("Token validation failed for user {}: {}", username, e.getMessage());
             return false;
@@ -132,8 +194,8 @@ public class JwtUtil {
     // Validate token without username (just signature and expiration)
     public Boolean validateToken(String token) {
         try {
-            extractAllClaims(token); // This will verify signature
-            return !isTokenExpired(token);
+            parse(token); // Verifies signature and expiration
+            return true;
         } catch (Exception e) {
             logger.error("Token validation failed: {}", e.getMessage());
             return false;
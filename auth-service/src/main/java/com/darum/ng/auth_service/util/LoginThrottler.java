@@ -0,0 +1,235 @@
+package com.darum.ng.auth_service.util;
+
+import com.darum.ng.auth_service.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caps failed logins per username and per client IP over a sliding window. The limit is checked
+ * before the password is hashed, so a credential-stuffing burst costs a few counter reads instead
+ * of BCrypt. Only attempts that end in {@link com.darum.ng.auth_service.exception.InvalidCredentialsException}
+ * are counted ({@link #recordFailure}), so successful logins never use up a user's attempts.
+ * <p>
+ * Failures are counted in a count-min sketch per time bucket (the window is split into
+ * {@code auth.login-throttle.buckets} buckets that are recycled as time moves on), so memory is
+ * fixed however many distinct usernames or addresses show up, and updates are lock-free atomic
+ * increments. A sketch can only overestimate: colliding keys may be throttled slightly early,
+ * never late. Keys are hashed with a per-instance random seed, so collisions cannot be aimed at
+ * a victim's username. Rejections are counted as {@code auth.login.throttled} tagged by key type.
+ * <p>
+ * Counters are per instance. The client address is the connection's remote address; only when
+ * that address is listed in {@code auth.login-throttle.trusted-proxies} (the gateway) is the last
+ * {@code X-Forwarded-For} entry, the one the gateway appended, used instead. Anyone else could
+ * send a fresh forwarded address with every attempt.
+ */
+@Component
+public class LoginThrottler {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottler.class);
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final boolean enabled;
+    private final Set<String> trustedProxies;
+    private final int maxPerUsername;
+    private final int maxPerIp;
+    private final long retryAfterSeconds;
+    private final Clock clock;
+    private final SlidingWindowSketch usernames;
+    private final SlidingWindowSketch addresses;
+    private final Counter usernameThrottled;
+    private final Counter ipThrottled;
+
+    @Autowired
+    public LoginThrottler(@Value("${auth.login-throttle.enabled:true}") boolean enabled,
+                          @Value("${auth.login-throttle.window:1m}") Duration window,
+                          @Value("${auth.login-throttle.buckets:6}") int buckets,
+                          @Value("${auth.login-throttle.max-per-username:10}") int maxPerUsername,
+                          @Value("${auth.login-throttle.max-per-ip:100}") int maxPerIp,
+                          @Value("${auth.login-throttle.sketch-width:8192}") int sketchWidth,
+                          @Value("${auth.login-throttle.trusted-proxies:}") String trustedProxies,
+                          MeterRegistry meterRegistry) {
+        this(enabled, window, buckets, maxPerUsername, maxPerIp, sketchWidth,
+                StringUtils.commaDelimitedListToSet(trustedProxies.replace(" ", "")), meterRegistry, Clock.systemUTC());
+    }
+
+    LoginThrottler(boolean enabled, Duration window, int buckets, int maxPerUsername, int maxPerIp, int sketchWidth,
+                   Set<String> trustedProxies, MeterRegistry meterRegistry, Clock clock) {
+        if (buckets < 1 || window.toMillis() < buckets) {
+            throw new IllegalArgumentException("auth.login-throttle.window must be at least one millisecond per bucket");
+        }
+        long bucketMillis = window.toMillis() / buckets;
+        this.enabled = enabled;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.maxPerUsername = maxPerUsername;
+        this.maxPerIp = maxPerIp;
+        this.retryAfterSeconds = Math.max(1, Duration.ofMillis(bucketMillis).toSeconds());
+        this.clock = clock;
+        SecureRandom random = new SecureRandom();
+        this.usernames = new SlidingWindowSketch(buckets, bucketMillis, sketchWidth, random.nextLong());
+        this.addresses = new SlidingWindowSketch(buckets, bucketMillis, sketchWidth, random.nextLong());
+        this.usernameThrottled = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected before password hashing")
+                .tag("key", "username")
+                .register(meterRegistry);
+        this.ipThrottled = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected before password hashing")
+                .tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Throws {@link TooManyLoginAttemptsException} (429) if the username or the client address
+     * already used up its failed attempts in the current window. Records nothing.
+     */
+    public void check(String username, HttpServletRequest request) {
+        check(username, clientAddress(request));
+    }
+
+    /**
+     * Records a login that failed on its credentials against both the username and the client address.
+     */
+    public void recordFailure(String username, HttpServletRequest request) {
+        recordFailure(username, clientAddress(request));
+    }
+
+    void check(String username, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        if (addresses.estimate(clientAddress, now) >= maxPerIp) {
+            ipThrottled.increment();
+            logger.warn("Login throttled for client {}", clientAddress);
+            throw new TooManyLoginAttemptsException(retryAfterSeconds);
+        }
+        String usernameKey = usernameKey(username);
+        if (usernames.estimate(usernameKey, now) >= maxPerUsername) {
+            usernameThrottled.increment();
+            logger.warn("Login throttled for user {}", usernameKey);
+            throw new TooManyLoginAttemptsException(retryAfterSeconds);
+        }
+    }
+
+    void recordFailure(String username, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.millis();
+        addresses.add(clientAddress, now);
+        usernames.add(usernameKey(username), now);
+    }
+
+    private static String usernameKey(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private String clientAddress(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (trustedProxies.contains(remoteAddress)) {
+            String forwardedFor = request.getHeader(FORWARDED_FOR);
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                return forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+            }
+        }
+        return remoteAddress;
+    }
+
+    /**
+     * Ring of count-min sketches, one per time bucket. A slot is reused for a new bucket by
+     * whichever thread first moves its epoch forward; increments racing with that reset may be
+     * lost, which only makes the estimate lower by those few attempts.
+     */
+    static final class SlidingWindowSketch {
+        private static final int DEPTH = 4;
+
+        private final int buckets;
+        private final long bucketMillis;
+        private final int mask;
+        private final long seed;
+        private final AtomicIntegerArray[] counters;
+        private final AtomicLongArray epochs;
+
+        SlidingWindowSketch(int buckets, long bucketMillis, int width, long seed) {
+            int roundedWidth = Integer.highestOneBit(Math.max(width, 16));
+            this.buckets = buckets;
+            this.bucketMillis = bucketMillis;
+            this.mask = roundedWidth - 1;
+            this.seed = seed;
+            this.counters = new AtomicIntegerArray[buckets];
+            for (int i = 0; i < buckets; i++) {
+                counters[i] = new AtomicIntegerArray(DEPTH * roundedWidth);
+            }
+            this.epochs = new AtomicLongArray(buckets);
+            for (int i = 0; i < buckets; i++) {
+                epochs.set(i, -1);
+            }
+        }
+
+        void add(String key, long now) {
+            long epoch = now / bucketMillis;
+            int slot = (int) (epoch % buckets);
+            long seen = epochs.get(slot);
+            if (seen < epoch && epochs.compareAndSet(slot, seen, epoch)) {
+                AtomicIntegerArray stale = counters[slot];
+                for (int i = 0; i < stale.length(); i++) {
+                    stale.set(i, 0);
+                }
+            }
+            long hash = hash(key);
+            for (int row = 0; row < DEPTH; row++) {
+                counters[slot].incrementAndGet(index(hash, row));
+            }
+        }
+
+        long estimate(String key, long now) {
+            long epoch = now / bucketMillis;
+            long hash = hash(key);
+            long total = 0;
+            for (int slot = 0; slot < buckets; slot++) {
+                long slotEpoch = epochs.get(slot);
+                if (slotEpoch <= epoch - buckets || slotEpoch > epoch) {
+                    continue;
+                }
+                int min = Integer.MAX_VALUE;
+                for (int row = 0; row < DEPTH; row++) {
+                    min = Math.min(min, counters[slot].get(index(hash, row)));
+                }
+                total += min;
+            }
+            return total;
+        }
+
+        private int index(long hash, int row) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            return row * (mask + 1) + ((h1 + row * h2) & mask);
+        }
+
+        // Seeded FNV-1a over the characters, finished with the murmur3 64-bit mix
+        private long hash(String key) {
+            long h = seed;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+            h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return h ^ (h >>> 33);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.darum.ng.auth_service.util;
+
+import com.darum.ng.auth_service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs every BCrypt encode/match on the core-sized {@code passwordHashingExecutor}, so a login
+ * storm is limited to that many CPUs and request threads only wait instead of hashing.
+ * <p>
+ * Admission control: when the executor's bounded queue is full the call fails at once with
+ * {@link ServiceOverloadedException} (503), and a queued hash that has not finished within
+ * {@code auth.password-hashing.max-wait} is cancelled the same way. Queue wait and hash time are
+ * published per operation as {@code auth.password.queue} and {@code auth.password.hash}, and
+ * rejections as {@code auth.password.rejected}.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Operation encode;
+    private final Operation matches;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashingExecutor") ThreadPoolExecutor executor,
+                          @Value("${auth.password-hashing.max-wait:5s}") Duration maxWait,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.maxWait = maxWait;
+        this.encode = new Operation("encode", meterRegistry);
+        this.matches = new Operation("matches", meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return await(submit(encode, () -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit(matches, () -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Hashes many passwords, keeping at most one task per pool thread in flight so a large
+     * batch never takes the queue away from logins. Fails as a whole if the pool is saturated.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        int window = Math.max(executor.getMaximumPoolSize(), 1);
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        for (int from = 0; from < rawPasswords.size(); from += window) {
+            List<CompletableFuture<String>> inFlight = new ArrayList<>(window);
+            for (String rawPassword : rawPasswords.subList(from, Math.min(from + window, rawPasswords.size()))) {
+                inFlight.add(submit(encode, () -> passwordEncoder.encode(rawPassword)));
+            }
+            for (CompletableFuture<String> hash : inFlight) {
+                hashes.add(await(hash));
+            }
+        }
+        return hashes;
+    }
+
+    private <T> CompletableFuture<T> submit(Operation operation, Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                operation.queue.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    operation.hash.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            operation.rejected.increment();
+            logger.warn("Password hashing queue is full ({} waiting), rejecting {}", executor.getQueue().size(), operation.name);
+            throw new ServiceOverloadedException("Too many concurrent authentication requests, please retry shortly");
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(false);
+            throw new ServiceOverloadedException("Authentication is taking too long, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(false);
+            throw new ServiceOverloadedException("Authentication was interrupted, please retry");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static final class Operation {
+        private final String name;
+        private final Timer queue;
+        private final Timer hash;
+        private final Counter rejected;
+
+        private Operation(String name, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.queue = Timer.builder("auth.password.queue")
+                    .description("Time a password hash waited for a hashing thread")
+                    .tag("operation", name)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.hash = Timer.builder("auth.password.hash")
+                    .description("BCrypt time per password hash")
+                    .tag("operation", name)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("auth.password.rejected")
+                    .description("Password hashes rejected because the hashing queue was full")
+                    .tag("operation", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.darum.ng.auth_service.util;
+
+import com.darum.ng.auth_service.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over the usernames and emails in {@code users}, consulted before the uniqueness
+ * queries: a value the filter has never seen is definitely free and is answered without a query,
+ * anything else is confirmed against the database.
+ * <p>
+ * Built from a streaming scan once the application is ready and rebuilt every
+ * {@code auth.availability-filter.rebuild-interval} (sized for twice the current user count, or
+ * {@code expected-users} if larger), which also picks up users registered through other instances.
+ * Registrations on this instance are added as they are saved. Until the first build finishes every
+ * lookup goes to the database. A user registered elsewhere since the last rebuild can be reported
+ * as available; registration itself is still protected by the unique constraints.
+ * <p>
+ * {@code auth.availability.lookups} counts lookups per field by result: {@code filtered} (answered
+ * by the filter), {@code present} and {@code false_positive} (the filter said maybe, the database
+ * said no). {@code auth.availability.filter.fpp} is the false-positive rate predicted from the
+ * filter's fill.
+ */
+@Component
+public class UserAvailabilityFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityFilter.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final SecureRandom random = new SecureRandom();
+    private final Lookups usernameLookups;
+    private final Lookups emailLookups;
+
+    // add() reads pending before current, and build() publishes current before clearing pending,
+    // so a user saved while a rebuild is scanning ends up in the new filters either way
+    private volatile Filters current;
+    private volatile Filters pending;
+
+    public UserAvailabilityFilter(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                                  @Value("${auth.availability-filter.enabled:true}") boolean enabled,
+                                  @Value("${auth.availability-filter.expected-users:100000}") long expectedUsers,
+                                  @Value("${auth.availability-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                  MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.usernameLookups = new Lookups("username", meterRegistry);
+        this.emailLookups = new Lookups("email", meterRegistry);
+        Gauge.builder("auth.availability.filter.fpp", this, filter -> filter.expectedFalsePositiveRate(true))
+                .description("False-positive rate predicted from the filter's fill")
+                .tag("field", "username")
+                .register(meterRegistry);
+        Gauge.builder("auth.availability.filter.fpp", this, filter -> filter.expectedFalsePositiveRate(false))
+                .description("False-positive rate predicted from the filter's fill")
+                .tag("field", "email")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${auth.availability-filter.rebuild-interval:PT10M}",
+            fixedDelayString = "${auth.availability-filter.rebuild-interval:PT10M}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long capacity = Math.max(expectedUsers, userRepository.count() * 2);
+        Filters next = new Filters(new BloomFilter(capacity, falsePositiveRate, random.nextLong()),
+                new BloomFilter(capacity, falsePositiveRate, random.nextLong()));
+        pending = next;
+        long[] scanned = {0};
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<UserRepository.UserIdentity> identities = userRepository.streamIdentities()) {
+                    identities.forEach(identity -> {
+                        next.add(identity.getUsername(), identity.getEmail());
+                        scanned[0]++;
+                    });
+                }
+            });
+            current = next;
+        } finally {
+            pending = null;
+        }
+        logger.info("User availability filter built: {} users, capacity {}, {} ms",
+                scanned[0], capacity, System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Whether a user with this username exists: false straight from the filter when it has
+     * never seen the value, otherwise the answer of {@code database}.
+     */
+    public boolean usernameExists(String username, Predicate<String> database) {
+        Filters filters = current;
+        return exists(username, filters == null ? null : filters.usernames(), usernameLookups, database);
+    }
+
+    public boolean emailExists(String email, Predicate<String> database) {
+        Filters filters = current;
+        return exists(email, filters == null ? null : filters.emails(), emailLookups, database);
+    }
+
+    public void add(String username, String email) {
+        Filters building = pending;
+        if (building != null) {
+            building.add(username, email);
+        }
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(username, email);
+        }
+    }
+
+    private boolean exists(String value, BloomFilter filter, Lookups lookups, Predicate<String> database) {
+        if (filter == null) {
+            return database.test(value);
+        }
+        if (!filter.mightContain(value)) {
+            lookups.filtered.increment();
+            return false;
+        }
+        boolean exists = database.test(value);
+        (exists ? lookups.present : lookups.falsePositive).increment();
+        return exists;
+    }
+
+    private double expectedFalsePositiveRate(boolean usernames) {
+        Filters filters = current;
+        if (filters == null) {
+            return Double.NaN;
+        }
+        return (usernames ? filters.usernames() : filters.emails()).expectedFalsePositiveRate();
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+        void add(String username, String email) {
+            usernames.add(username);
+            emails.add(email);
+        }
+    }
+
+    private static final class Lookups {
+        private final Counter filtered;
+        private final Counter present;
+        private final Counter falsePositive;
+
+        private Lookups(String field, MeterRegistry meterRegistry) {
+            this.filtered = counter(field, "filtered", meterRegistry);
+            this.present = counter(field, "present", meterRegistry);
+            this.falsePositive = counter(field, "false_positive", meterRegistry);
+        }
+
+        private static Counter counter(String field, String result, MeterRegistry meterRegistry) {
+            return Counter.builder("auth.availability.lookups")
+                    .description("Username/email existence checks by how they were answered")
+                    .tag("field", field)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Lock-free Bloom filter: bits in an AtomicLongArray set with CAS, k indexes from one seeded
+     * 64-bit hash by double hashing.
+     */
+    static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashFunctions;
+        private final long seed;
+        private final AtomicLong bitsSet = new AtomicLong();
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate, long seed) {
+            long n = Math.max(expectedInsertions, 1);
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+            int wordCount = (int) Math.min(Math.max((bits + 63) / 64, 1), Integer.MAX_VALUE - 8);
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * 64;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+            this.seed = seed;
+        }
+
+        void add(String value) {
+            if (value == null) {
+                return;
+            }
+            long hash = hash(value);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long bit = index(hash, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long bitsInWord;
+                do {
+                    bitsInWord = words.get(word);
+                    if ((bitsInWord & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, bitsInWord, bitsInWord | mask));
+                if ((bitsInWord & mask) == 0) {
+                    bitsSet.incrementAndGet();
+                }
+            }
+        }
+
+        boolean mightContain(String value) {
+            if (value == null) {
+                return false;
+            }
+            long hash = hash(value);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long bit = index(hash, i);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow((double) bitsSet.get() / bitCount, hashFunctions);
+        }
+
+        private long index(long hash, int i) {
+            long combined = (int) hash + (long) i * (int) (hash >>> 32);
+            if (combined < 0) {
+                combined = ~combined;
+            }
+            return combined % bitCount;
+        }
+
+        // Seeded FNV-1a over the characters, finished with the murmur3 64-bit mix
+        private long hash(String value) {
+            long h = seed;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+            h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return h ^ (h >>> 33);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- Schema as previously generated by Hibernate auto-DDL
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    enabled    BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    -- Also the indexes behind login (findByUsername) and the registration uniqueness checks
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
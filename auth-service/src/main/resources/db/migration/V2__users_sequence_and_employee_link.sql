@@ -0,0 +1,9 @@
+-- User ids come from users_seq in blocks of 50 (batch registration). Start it above the
+-- existing rows so ids handed out before the switch from IDENTITY are never reused.
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+ALTER SEQUENCE users_seq INCREMENT BY 50;
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM users));
+
+-- Employee record linked by employee-service, issued as token claims
+ALTER TABLE users ADD COLUMN IF NOT EXISTS employee_id BIGINT;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS department_id BIGINT;
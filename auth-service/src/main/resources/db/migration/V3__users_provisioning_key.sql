@@ -0,0 +1,7 @@
+-- Idempotency key of the provisioning request that created the user (batch registration
+-- replays). The unique index is built CONCURRENTLY, so this cannot run inside a transaction
+-- (see the .conf file next to this script).
+ALTER TABLE users ADD COLUMN IF NOT EXISTS provisioning_key VARCHAR(255);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_users_provisioning_key
+    ON users (provisioning_key);
@@ -0,0 +1,90 @@
+package com.darum.ng.auth_service.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks {@code auth.password-hashing.strength} for a target BCrypt time on the machine it runs on.
+ * <p>
+ * Measures one {@code matches} (what a login costs) per strength on a single thread, then prints
+ * the highest strength whose average stays within {@code -Dtarget.ms} (default 100). Run it on
+ * the production hardware, or a node with the same CPU and -XX:ActiveProcessorCount:
+ * <pre>
+ * mvn -pl auth-service test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath -Dtarget.ms=100 com.darum.ng.auth_service.benchmark.BCryptStrengthCalibration"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(1)
+public class BCryptStrengthCalibration {
+
+    private static final String PASSWORD = "calibration-password";
+
+    @Param({"8", "9", "10", "11", "12", "13", "14"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        double targetMillis = Double.parseDouble(System.getProperty("target.ms", "100"));
+        Options options = new OptionsBuilder()
+                .include(BCryptStrengthCalibration.class.getSimpleName())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        int recommended = -1;
+        double recommendedMillis = 0;
+        for (RunResult result : results) {
+            int strength = Integer.parseInt(result.getParams().getParam("strength"));
+            double millis = result.getPrimaryResult().getScore();
+            if (millis <= targetMillis && strength > recommended) {
+                recommended = strength;
+                recommendedMillis = millis;
+            }
+        }
+        if (recommended < 0) {
+            System.out.printf("%nNo strength hashes within %.0f ms on this machine; the lowest measured is 8%n", targetMillis);
+            return;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%nauth.password-hashing.strength=%d  (%.1f ms per hash, target %.0f ms)%n",
+                recommended, recommendedMillis, targetMillis);
+        System.out.printf("Capacity with %d hashing threads: about %.0f logins/s%n", cores, cores * 1000 / recommendedMillis);
+    }
+}
@@ -0,0 +1,94 @@
+package com.darum.ng.auth_service.benchmark;
+
+import com.darum.ng.auth_service.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validations per second on the JwtAuthenticationFilter path.
+ * <p>
+ * {@code legacyFilterPath} reproduces the previous filter: extractUsername, validateToken
+ * (signature + isTokenExpired) and extractClaim("role") each rebuilt the HMAC key and a
+ * parser and parsed the token again. {@code parseOnce} is the current path: one parse with
+ * the pre-built key and parser.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn -pl auth-service test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.darum.ng.auth_service.benchmark.JwtValidationBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256-signing";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86400000L);
+        token = jwtUtil.generateToken("benchmark-user", "ROLE_EMPLOYEE", 42L, 7L);
+    }
+
+    @Benchmark
+    public void legacyFilterPath(Blackhole blackhole) {
+        String username = legacyParse(token).getSubject();
+        boolean valid = legacyParse(token) != null && !legacyParse(token).getExpiration().before(new java.util.Date());
+        String role = legacyParse(token).get(JwtUtil.CLAIM_ROLE, String.class);
+        blackhole.consume(username);
+        blackhole.consume(valid);
+        blackhole.consume(role);
+    }
+
+    @Benchmark
+    public void parseOnce(Blackhole blackhole) {
+        Claims claims = jwtUtil.parse(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.get(JwtUtil.CLAIM_ROLE, String.class));
+    }
+
+    // Previous getSigningKey() + extractAllClaims(): new key and parser on every call
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
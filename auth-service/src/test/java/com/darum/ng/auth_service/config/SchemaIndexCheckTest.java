@@ -0,0 +1,39 @@
+package com.darum.ng.auth_service.config;
+
+import com.darum.ng.auth_service.config.SchemaIndexCheck.ExistingIndex;
+import com.darum.ng.auth_service.config.SchemaIndexCheck.RequiredIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class SchemaIndexCheckTest {
+
+    private final RequiredIndex email = new RequiredIndex("users", List.of("email"), List.of(), "test");
+
+    @Test
+    void requiredColumnsMustLeadTheIndex() {
+        assertThat(email.isSatisfiedBy(index("users", List.of("email")))).isTrue();
+        assertThat(email.isSatisfiedBy(index("users", List.of("email", "username")))).isTrue();
+        assertThat(email.isSatisfiedBy(index("users", List.of("username", "email")))).isFalse();
+        assertThat(email.isSatisfiedBy(new ExistingIndex("users", List.of("username"), List.of("username", "email")))).isFalse();
+        assertThat(email.isSatisfiedBy(index("employees", List.of("email")))).isFalse();
+    }
+
+    @Test
+    void disabledCheckDoesNotQueryTheDatabase() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+        new SchemaIndexCheck(jdbcTemplate, false).verify();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static ExistingIndex index(String table, List<String> keyColumns) {
+        return new ExistingIndex(table, keyColumns, keyColumns);
+    }
+}
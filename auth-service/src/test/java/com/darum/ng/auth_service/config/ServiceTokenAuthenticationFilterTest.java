@@ -0,0 +1,53 @@
+package com.darum.ng.auth_service.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceTokenAuthenticationFilterTest {
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void matchingTokenAuthenticatesAsService() throws Exception {
+        filter("s3cret", "s3cret");
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(ServiceTokenAuthenticationFilter.ROLE_SERVICE);
+    }
+
+    @Test
+    void wrongOrMissingTokenIsIgnored() throws Exception {
+        filter("s3cret", "guess");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+
+        filter("s3cret", null);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void unconfiguredTokenNeverAuthenticates() throws Exception {
+        filter("", "");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private static void filter(String configured, String presented) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/register/employee/batch");
+        if (presented != null) {
+            request.addHeader(ServiceTokenAuthenticationFilter.HEADER, presented);
+        }
+        new ServiceTokenAuthenticationFilter(configured).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
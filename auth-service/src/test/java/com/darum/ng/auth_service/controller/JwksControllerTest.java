@@ -0,0 +1,44 @@
+package com.darum.ng.auth_service.controller;
+
+import com.darum.ng.auth_service.util.JwtSigningKeys;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwksControllerTest {
+
+    @Test
+    void publishedJwkRoundTripsToTheSamePublicKey() throws Exception {
+        // No key directory: an in-memory key pair is generated
+        JwtSigningKeys signingKeys = new JwtSigningKeys("");
+        JwksController controller = new JwksController(signingKeys);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode jwks = objectMapper.readTree(objectMapper.writeValueAsString(controller.getJwks().getBody()));
+
+        assertThat(jwks.path("keys")).hasSize(signingKeys.getPublicKeys().size());
+        for (JsonNode jwk : jwks.path("keys")) {
+            RSAPublicKey published = signingKeys.getPublicKey(jwk.path("kid").asText());
+            assertThat(jwk.path("kty").asText()).isEqualTo("RSA");
+            assertThat(jwk.path("alg").asText()).isEqualTo("RS256");
+            assertThat(toPublicKey(jwk)).isEqualTo(published);
+        }
+    }
+
+    // Decoded the way the verifying services do it
+    private static PublicKey toPublicKey(JsonNode jwk) throws Exception {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, decoder.decode(jwk.path("n").asText())),
+                new BigInteger(1, decoder.decode(jwk.path("e").asText()))));
+    }
+}
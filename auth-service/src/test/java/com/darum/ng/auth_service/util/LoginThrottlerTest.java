@@ -0,0 +1,130 @@
+package com.darum.ng.auth_service.util;
+
+import com.darum.ng.auth_service.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottlerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+    private final LoginThrottler throttler = new LoginThrottler(true, Duration.ofSeconds(60), 6, 3, 5, 1024,
+            Set.of("172.16.0.10"), meterRegistry, clock);
+
+    @Test
+    void throttlesUsernameAfterFailuresCaseInsensitively() {
+        throttler.recordFailure("alice", "10.0.0.1");
+        throttler.recordFailure("Alice", "10.0.0.2");
+        throttler.recordFailure(" ALICE ", "10.0.0.3");
+
+        assertThatThrownBy(() -> throttler.check("alice", "10.0.0.4"))
+                .isInstanceOfSatisfying(TooManyLoginAttemptsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(10));
+        assertThatCode(() -> throttler.check("bob", "10.0.0.4")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("auth.login.throttled").tag("key", "username").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void checkingDoesNotCountAttempts() {
+        for (int i = 0; i < 20; i++) {
+            throttler.check("alice", "10.0.0.1");
+        }
+
+        assertThatCode(() -> throttler.check("alice", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void throttlesAddressAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            throttler.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttler.check("someone-else", "10.0.0.1"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThatCode(() -> throttler.check("someone-else", "10.0.0.2")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("auth.login.throttled").tag("key", "ip").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failuresSlideOutOfTheWindow() {
+        throttler.recordFailure("alice", "10.0.0.1");
+        clock.advance(Duration.ofSeconds(30));
+        throttler.recordFailure("alice", "10.0.0.1");
+        throttler.recordFailure("alice", "10.0.0.1");
+        assertThatThrownBy(() -> throttler.check("alice", "10.0.0.1"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+
+        // The first failure's bucket has left the window, the other two are still in it
+        clock.advance(Duration.ofSeconds(35));
+        assertThatCode(() -> throttler.check("alice", "10.0.0.1")).doesNotThrowAnyException();
+        throttler.recordFailure("alice", "10.0.0.1");
+        assertThatThrownBy(() -> throttler.check("alice", "10.0.0.1"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+
+        clock.advance(Duration.ofSeconds(60));
+        assertThatCode(() -> throttler.check("alice", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void usesAddressAppendedByTrustedGateway() {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setRemoteAddr("172.16.0.10");
+            request.addHeader("X-Forwarded-For", "198.51.100." + i + ", 203.0.113.7");
+            throttler.recordFailure("user" + i, request);
+        }
+
+        assertThatThrownBy(() -> throttler.check("user9", "203.0.113.7"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThatCode(() -> throttler.check("user9", "172.16.0.10")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void ignoresForwardedForFromUntrustedClients() {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setRemoteAddr("203.0.113.50");
+            request.addHeader("X-Forwarded-For", "198.51.100." + i);
+            throttler.recordFailure("user" + i, request);
+        }
+
+        assertThatThrownBy(() -> throttler.check("user9", "203.0.113.50"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThatCode(() -> throttler.check("user9", "198.51.100.0")).doesNotThrowAnyException();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.darum.ng.auth_service.util;
+
+import com.darum.ng.auth_service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hashesOnTheExecutorAndRecordsStages() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), executor, Duration.ofSeconds(5), meterRegistry);
+
+        List<String> hashes = hasher.encodeAll(List.of("first-password", "second-password", "third-password"));
+
+        assertThat(hashes).hasSize(3);
+        assertThat(hasher.matches("second-password", hashes.get(1))).isTrue();
+        assertThat(hasher.matches("first-password", hashes.get(1))).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("auth.password.queue").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordHasher hasher = new PasswordHasher(blockingEncoder(started, release), executor, Duration.ofSeconds(5), meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("running"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("queued"));
+        while (executor.getQueue().isEmpty()) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> hasher.encode("rejected")).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").tag("operation", "encode").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:queued");
+    }
+
+    @Test
+    void givesUpAfterMaxWait() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordHasher hasher = new PasswordHasher(blockingEncoder(started, release), executor, Duration.ofMillis(50), meterRegistry);
+
+        assertThatThrownBy(() -> hasher.encode("slow")).isInstanceOf(ServiceOverloadedException.class);
+        release.countDown();
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+    }
+}
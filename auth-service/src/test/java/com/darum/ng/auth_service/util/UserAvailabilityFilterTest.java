@@ -0,0 +1,86 @@
+package com.darum.ng.auth_service.util;
+
+import com.darum.ng.auth_service.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserAvailabilityFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserAvailabilityFilter filter = new UserAvailabilityFilter(userRepository,
+            mock(PlatformTransactionManager.class), true, 1000, 0.01, meterRegistry);
+
+    @Test
+    void answersUnknownValuesWithoutQueryingAfterBuild() {
+        Set<String> queried = new HashSet<>();
+        assertThat(filter.usernameExists("alice", username -> queried.add(username))).isTrue();
+
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.streamIdentities()).thenReturn(Stream.of(identity("alice", "alice@test.com")));
+        filter.rebuild();
+        queried.clear();
+
+        assertThat(filter.usernameExists("alice", username -> queried.add(username))).isTrue();
+        assertThat(filter.emailExists("nobody@test.com", email -> queried.add(email))).isFalse();
+        assertThat(queried).containsExactly("alice");
+        assertThat(meterRegistry.get("auth.availability.lookups").tag("field", "email").tag("result", "filtered")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void registrationsAreVisibleImmediately() {
+        when(userRepository.streamIdentities()).thenReturn(Stream.empty());
+        filter.rebuild();
+        Set<String> queried = new HashSet<>();
+        assertThat(filter.usernameExists("bob", username -> queried.add(username))).isFalse();
+        assertThat(queried).isEmpty();
+
+        filter.add("bob", "bob@test.com");
+
+        assertThat(filter.usernameExists("bob", username -> queried.add(username))).isTrue();
+        assertThat(filter.emailExists("bob@test.com", email -> queried.add(email))).isTrue();
+        assertThat(queried).containsExactlyInAnyOrder("bob", "bob@test.com");
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        UserAvailabilityFilter.BloomFilter bloomFilter = new UserAvailabilityFilter.BloomFilter(10_000, 0.01, 42L);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.add("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(bloomFilter.mightContain("user" + i)).isTrue();
+            if (bloomFilter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(200);
+        assertThat(bloomFilter.expectedFalsePositiveRate()).isBetween(0.005, 0.02);
+    }
+
+    private static UserRepository.UserIdentity identity(String username, String email) {
+        return new UserRepository.UserIdentity() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
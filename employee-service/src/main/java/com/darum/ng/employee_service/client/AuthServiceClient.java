@@ -1,10 +1,13 @@
 package com.darum.ng.employee_service.client;
 
-import com.darum.ng.employee_service.dto.UserRegistrationRequest;
-import com.darum.ng.employee_service.dto.UserRegistrationResponse;
+import com.darum.ng.employee_service.dto.EmployeeLinkRequest;
+import com.darum.ng.employee_service.dto.UserBatchRegistrationRequest;
+import com.darum.ng.employee_service.dto.UserBatchRegistrationResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.Map;
@@ -12,6 +15,11 @@ import java.util.Map;
 @FeignClient(name = "auth-service", url = "${auth.service.url:http://localhost:8081}")
 public interface AuthServiceClient {
 
-    @PostMapping("/auth/register/employee")
-    ResponseEntity<Map<String, Object>> registerEmployee(@RequestBody UserRegistrationRequest userRegistrationRequest);
+    // Bulk onboarding: registers every user in one call, results come back per item in request order
+    @PostMapping("/auth/register/employee/batch")
+    ResponseEntity<UserBatchRegistrationResponse> registerEmployees(@RequestBody UserBatchRegistrationRequest batchRequest);
+
+    // Stores employee/department ids on the auth user so they are issued as token claims
+    @PutMapping("/auth/users/{userId}/employee-link")
+    ResponseEntity<Map<String, Object>> linkEmployee(@PathVariable("userId") Long userId, @RequestBody EmployeeLinkRequest employeeLinkRequest);
 }
@@ -0,0 +1,45 @@
+package com.darum.ng.employee_service.client;
+
+import com.darum.ng.employee_service.dto.EmployeeLinkRequest;
+import com.darum.ng.employee_service.dto.UserBatchRegistrationRequest;
+import com.darum.ng.employee_service.dto.UserBatchRegistrationResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * AuthServiceClient behind a circuit breaker and a semaphore bulkhead (instance "authService",
+ * configured under resilience4j.* in application.yml). A slow or failing auth-service therefore
+ * fails fast with CallNotPermittedException / BulkheadFullException instead of holding request threads.
+ * <p>
+ * Only linkEmployee is retried: it is an idempotent PUT. Registrations are never re-sent from here;
+ * the provisioning outbox owns their retries.
+ */
+@Component
+public class ResilientAuthServiceClient {
+    private static final String AUTH_SERVICE = "authService";
+
+    private final AuthServiceClient authServiceClient;
+
+    public ResilientAuthServiceClient(AuthServiceClient authServiceClient) {
+        this.authServiceClient = authServiceClient;
+    }
+
+    @CircuitBreaker(name = AUTH_SERVICE)
+    @Bulkhead(name = AUTH_SERVICE)
+    public ResponseEntity<UserBatchRegistrationResponse> registerEmployees(UserBatchRegistrationRequest batchRequest) {
+        return authServiceClient.registerEmployees(batchRequest);
+    }
+
+    // Retry wraps the breaker, so each attempt is recorded and an open breaker stops the retries
+    @Retry(name = "authServiceIdempotent")
+    @CircuitBreaker(name = AUTH_SERVICE)
+    @Bulkhead(name = AUTH_SERVICE)
+    public ResponseEntity<Map<String, Object>> linkEmployee(Long userId, EmployeeLinkRequest employeeLinkRequest) {
+        return authServiceClient.linkEmployee(userId, employeeLinkRequest);
+    }
+}
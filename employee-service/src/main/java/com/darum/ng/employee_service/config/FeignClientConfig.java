@@ -0,0 +1,41 @@
+package com.darum.ng.employee_service.config;
+
+import feign.RequestInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Configuration
+public class FeignClientConfig {
+
+    public static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    // Identify employee-service itself (auth-service's X-Service-Token); needed by the provisioning
+    // dispatcher, which runs outside any request, and by the service-only employee link
+    @Bean
+    public RequestInterceptor serviceTokenInterceptor(@Value("${auth.service-token:}") String serviceToken) {
+        return template -> {
+            if (!serviceToken.isBlank()) {
+                template.header(SERVICE_TOKEN_HEADER, serviceToken);
+            }
+        };
+    }
+
+    // Forward the caller's bearer token so auth-service can authorize calls made on their behalf
+    @Bean
+    public RequestInterceptor authorizationForwardingInterceptor() {
+        return template -> {
+            if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+                HttpServletRequest request = attributes.getRequest();
+                String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+                if (authorization != null && !template.headers().containsKey(HttpHeaders.AUTHORIZATION)) {
+                    template.header(HttpHeaders.AUTHORIZATION, authorization);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.darum.ng.employee_service.config;
+
+import com.darum.ng.employee_service.utils.AuthenticatedUser;
+import com.darum.ng.employee_service.utils.JwtVerifier;
+import com.darum.ng.employee_service.utils.TokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+
+// Verifies the bearer token locally (no call to auth-service, verified claims are cached until the
+// token expires) and exposes its claims as an AuthenticatedUser
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+    private final TokenCache tokenCache;
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier, TokenCache tokenCache) {
+        this.jwtVerifier = jwtVerifier;
+        this.tokenCache = tokenCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        final String authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                Claims claims = tokenCache.get(authorizationHeader.substring(BEARER_PREFIX.length()), jwtVerifier::parse);
+                String username = claims.getSubject();
+                String role = claims.get(AuthenticatedUser.CLAIM_ROLE, String.class);
+
+                if (username != null && role != null) {
+                    AuthenticatedUser user = new AuthenticatedUser(username, role,
+                            claims.get(AuthenticatedUser.CLAIM_EMPLOYEE_ID, Long.class),
+                            claims.get(AuthenticatedUser.CLAIM_DEPARTMENT_ID, Long.class),
+                            claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null);
+
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            user, null, Collections.singleton(new SimpleGrantedAuthority(role)));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid token: continue unauthenticated, protected endpoints answer 401
+            logger.warn("Rejected JWT: " + e.getMessage());
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,16 +1,25 @@
 package com.darum.ng.employee_service.controller;
 
+import com.darum.ng.employee_service.dto.EmployeeBatchRequest;
+import com.darum.ng.employee_service.dto.EmployeeBatchResponse;
+import com.darum.ng.employee_service.dto.EmployeeFilter;
+import com.darum.ng.employee_service.dto.EmployeePageResponse;
 import com.darum.ng.employee_service.dto.EmployeeRequest;
 import com.darum.ng.employee_service.dto.EmployeeResponse;
+import com.darum.ng.employee_service.dto.ExportFormat;
 import com.darum.ng.employee_service.service.EmployeeService;
+import com.darum.ng.employee_service.utils.IdempotencyStore;
 import com.darum.ng.employee_service.utils.SecurityUtils;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collections;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -18,43 +27,79 @@ import java.util.List;
 public class EmployeeController {
     private final EmployeeService employeeService;
     private final SecurityUtils securityUtils;
+    private final IdempotencyStore idempotencyStore;
 
-    public EmployeeController(EmployeeService employeeService, SecurityUtils securityUtils) {
+    public EmployeeController(EmployeeService employeeService, SecurityUtils securityUtils, IdempotencyStore idempotencyStore) {
         this.employeeService = employeeService;
         this.securityUtils = securityUtils;
+        this.idempotencyStore = idempotencyStore;
     }
 
     // ADMIN ONLY: Create employee
+    // With an Idempotency-Key header a retried request returns the original response instead of creating again
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
-    public ResponseEntity<EmployeeResponse> createEmployee(@Valid @RequestBody EmployeeRequest employeeRequest) {
-        EmployeeResponse employee = employeeService.createEmployee(employeeRequest);
-        return ResponseEntity.ok(employee);
+    public ResponseEntity<EmployeeResponse> createEmployee(@Valid @RequestBody EmployeeRequest employeeRequest,
+                                                           @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            EmployeeResponse employee = employeeService.createEmployee(employeeRequest);
+            return ResponseEntity.ok(employee);
+        }
+        IdempotencyStore.Result<EmployeeResponse> result = idempotencyStore.execute(
+                securityUtils.getCurrentUsername() + "|createEmployee", idempotencyKey, employeeRequest,
+                () -> employeeService.createEmployee(employeeRequest));
+        return ResponseEntity.ok()
+                .header(IdempotencyStore.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.value());
+    }
+
+    // ADMIN ONLY: Onboard many employees at once; every item is reported as CREATED or FAILED
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/batch")
+    public ResponseEntity<EmployeeBatchResponse> createEmployees(@Valid @RequestBody EmployeeBatchRequest batchRequest) {
+        EmployeeBatchResponse response = employeeService.createEmployees(batchRequest.getEmployees());
+        return ResponseEntity.ok(response);
     }
 
     // ADMIN: Get all employees
     // MANAGER: Get employees in their department
     // EMPLOYEE: Get only themselves
     @GetMapping
-    public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
-        if (securityUtils.isAdmin()) {
-            // Admin sees all employees
-            List<EmployeeResponse> employees = employeeService.getAllEmployees();
-            return ResponseEntity.ok(employees);
+    public ResponseEntity<EmployeePageResponse> getAllEmployees(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size,
+                                                                @RequestParam(required = false) String sort) {
+        // Role scoping (admin / manager department / self) is applied in the service
+        EmployeePageResponse employees = employeeService.getAllEmployees(cursor, size, sort);
+        return ResponseEntity.ok(employees);
+    }
 
-        } else if (securityUtils.isManager()) {
-            // Manager sees employees in their department
-            // We'll implement this after department-user association
-            List<EmployeeResponse> employees = employeeService.getAllEmployees();
-            return ResponseEntity.ok(employees);
+    // Combined filters (status, departmentId, position, minSalary/maxSalary, createdFrom/createdTo),
+    // scoped like getAllEmployees
+    @GetMapping("/query")
+    public ResponseEntity<EmployeePageResponse> queryEmployees(EmployeeFilter filter,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size,
+                                                               @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(employeeService.queryEmployees(filter, cursor, size, sort));
+    }
 
-        } else {
-            // Employee sees only themselves
-            // We need to implement getCurrentUserEmployee()
-            List<EmployeeResponse> employees = Collections.emptyList(); // Temporary
-            return ResponseEntity.ok(employees);
-        }
+    // Type-ahead search by name, email or position prefix ("jo do" matches John Doe),
+    // scoped like getAllEmployees
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeResponse>> searchEmployees(@RequestParam("q") String query,
+                                                                  @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(employeeService.searchEmployees(query, limit));
+    }
 
+    // ADMIN ONLY: Stream the whole directory as NDJSON or CSV (chunked, constant memory)
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public void exportEmployees(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employees." + exportFormat.getExtension());
+        employeeService.exportEmployees(exportFormat, response.getOutputStream());
     }
 
     // ADMIN: Get any employee by ID
@@ -116,23 +161,25 @@ public class EmployeeController {
     // MANAGER & ADMIN: Get department employees
     @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
     @GetMapping("/department/{departmentId}")
-    public ResponseEntity<List<EmployeeResponse>> getEmployeeByDepartment(@PathVariable Long departmentId) {
-        List<EmployeeResponse> employees = employeeService.getEmployeesByDepartment(departmentId);
+    public ResponseEntity<EmployeePageResponse> getEmployeeByDepartment(@PathVariable Long departmentId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer size,
+                                                                        @RequestParam(required = false) String sort) {
+        EmployeePageResponse employees = employeeService.getEmployeesByDepartment(departmentId, cursor, size, sort);
         return ResponseEntity.ok(employees);
     }
 
     // ADMIN: Get employees by any status
     // MANAGER: Get employees by status in their department
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<EmployeeResponse>> getEmployeeByStatus(@PathVariable String status) {
-
-        if (securityUtils.isAdmin()) {
-            List<EmployeeResponse> employees = employeeService.getEmployeesByStatus(status);
-            return ResponseEntity.ok(employees);
+    public ResponseEntity<EmployeePageResponse> getEmployeeByStatus(@PathVariable String status,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size,
+                                                                    @RequestParam(required = false) String sort) {
 
-        } else if (securityUtils.isManager()) {
+        if (securityUtils.isAdmin() || securityUtils.isManager()) {
             // Manager sees status-filtered employees in their department
-            List<EmployeeResponse> employees = employeeService.getEmployeesByStatus(status);
+            EmployeePageResponse employees = employeeService.getEmployeesByStatus(status, cursor, size, sort);
             return ResponseEntity.ok(employees);
         }  else {
             // Employee can only see their own status (which doesn't make sense for this endpoint)
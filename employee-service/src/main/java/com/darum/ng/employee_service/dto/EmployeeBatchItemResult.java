@@ -0,0 +1,29 @@
+package com.darum.ng.employee_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBatchItemResult {
+    public enum Status {
+        CREATED, FAILED
+    }
+
+    // Position of the item in the request
+    private int index;
+    private String email;
+    private Status status;
+    private Long employeeId;
+    private String error;
+
+    public static EmployeeBatchItemResult created(int index, String email, Long employeeId) {
+        return new EmployeeBatchItemResult(index, email, Status.CREATED, employeeId, null);
+    }
+
+    public static EmployeeBatchItemResult failed(int index, String email, String error) {
+        return new EmployeeBatchItemResult(index, email, Status.FAILED, null, error);
+    }
+}
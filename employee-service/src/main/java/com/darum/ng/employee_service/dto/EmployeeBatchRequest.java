@@ -0,0 +1,21 @@
+package com.darum.ng.employee_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBatchRequest {
+    public static final int MAX_BATCH_SIZE = 10000;
+
+    // Items are validated one by one so a bad row is reported instead of rejecting the batch
+    @NotEmpty(message = "At least one employee is required")
+    @Size(max = MAX_BATCH_SIZE, message = "A batch can contain at most " + MAX_BATCH_SIZE + " employees")
+    private List<EmployeeRequest> employees;
+}
@@ -0,0 +1,18 @@
+package com.darum.ng.employee_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBatchResponse {
+    private int total;
+    private int created;
+    private int failed;
+    // One entry per request item, in request order
+    private List<EmployeeBatchItemResult> results;
+}
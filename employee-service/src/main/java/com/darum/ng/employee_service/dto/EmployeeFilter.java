@@ -0,0 +1,26 @@
+package com.darum.ng.employee_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Optional criteria for GET /api/employees/query; null fields are not filtered on
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeFilter {
+    private String status;
+    private Long departmentId;
+    private String position;
+    private Double minSalary;
+    private Double maxSalary;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+}
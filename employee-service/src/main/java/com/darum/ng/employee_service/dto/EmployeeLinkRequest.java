@@ -7,8 +7,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class UserRegistrationResponse {
-    private Long userId;
-    private String username;
-    private String message;
+public class EmployeeLinkRequest {
+    private Long employeeId;
+    private Long departmentId;
 }
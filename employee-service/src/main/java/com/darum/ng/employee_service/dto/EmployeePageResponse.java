@@ -0,0 +1,19 @@
+package com.darum.ng.employee_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageResponse {
+    private List<EmployeeResponse> content;
+    private int size;
+    private String sort;
+    // Opaque token for the next page, null when this is the last page
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -23,6 +23,7 @@ public class EmployeeResponse {
     private Long departmentId;
     private String departmentName;
     private Long userId;
+    private Employee.ProvisioningStatus provisioningStatus;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
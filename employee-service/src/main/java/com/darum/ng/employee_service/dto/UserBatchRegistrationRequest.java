@@ -0,0 +1,14 @@
+package com.darum.ng.employee_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRegistrationRequest {
+    private List<UserRegistrationRequest> users;
+}
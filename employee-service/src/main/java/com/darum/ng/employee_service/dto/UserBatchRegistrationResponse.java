@@ -0,0 +1,17 @@
+package com.darum.ng.employee_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRegistrationResponse {
+    private int total;
+    private int created;
+    private int failed;
+    private List<UserBatchRegistrationResult> results;
+}
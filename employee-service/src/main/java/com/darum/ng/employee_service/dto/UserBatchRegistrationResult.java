@@ -0,0 +1,19 @@
+package com.darum.ng.employee_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRegistrationResult {
+    // Position of the item in the batch sent to auth-service
+    private int index;
+    private String username;
+    private String email;
+    // Set when the user was created
+    private Long userId;
+    // Set when auth-service rejected the item
+    private String error;
+}
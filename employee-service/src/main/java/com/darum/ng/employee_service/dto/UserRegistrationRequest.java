@@ -13,4 +13,9 @@ public class UserRegistrationRequest {
     private String password;
     private String firstName;
     private String lastName;
+    // Links the account to its employee record at creation
+    private Long employeeId;
+    private Long departmentId;
+    // Idempotency key of the outbox row: a retried batch gets back the account the first attempt created
+    private String provisioningKey;
 }
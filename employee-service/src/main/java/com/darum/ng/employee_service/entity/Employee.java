@@ -4,17 +4,25 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "employees")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
+@NaturalIdCache(region = "employees.email")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Employee {
+    // Sequence ids (fetched 50 at a time) let Hibernate batch INSERTs; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -23,6 +31,8 @@ public class Employee {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
+    // Natural id: findByEmail resolves email -> id through the natural-id cache
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -40,7 +50,8 @@ public class Employee {
     @JoinColumn(name = "department_id")
     private Department department;
 
-    @Column(name = "created_at")
+    // NOT NULL: keyset pagination by createdAt needs a value on every row (see EmployeeCursor)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @Column(name = "updated_at")
@@ -50,10 +61,19 @@ public class Employee {
     @Column(name = "user_id", unique = true)
     private Long userId;
 
+    // State of the auth-service account; userId is set once it is PROVISIONED
+    @Enumerated(EnumType.STRING)
+    @Column(name = "provisioning_status")
+    private ProvisioningStatus provisioningStatus = ProvisioningStatus.PENDING;
+
     public enum EmployeeStatus {
         ACTIVE, INACTIVE, ON_LEAVE, TERMINATED
     }
 
+    public enum ProvisioningStatus {
+        PENDING, PROVISIONED, FAILED
+    }
+
     public Employee(String firstName, String lastName, String email, String position, Double salary, String phoneNumber) {
         this.firstName = firstName;
         this.lastName = lastName;
@@ -0,0 +1,60 @@
+package com.darum.ng.employee_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending auth-service call for an employee, written in the same transaction as the employee
+ * change and drained by UserProvisioningDispatcher: {@link Kind#PROVISION} creates the account,
+ * {@link Kind#LINK} updates the employee/department claims of an existing one. The row is
+ * deleted once the call succeeded or has failed for good.
+ */
+@Entity
+@Table(name = "user_provisioning_outbox",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "kind"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProvisioningOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_provisioning_outbox_seq")
+    @SequenceGenerator(name = "user_provisioning_outbox_seq", sequenceName = "user_provisioning_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Kind kind = Kind.PROVISION;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Not picked up before this time: set when a dispatcher claims the row and after a failed attempt
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public UserProvisioningOutbox(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public UserProvisioningOutbox(Long employeeId, Kind kind) {
+        this.employeeId = employeeId;
+        this.kind = kind;
+    }
+
+    public enum Kind {
+        PROVISION, LINK
+    }
+}
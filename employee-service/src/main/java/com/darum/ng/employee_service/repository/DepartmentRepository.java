@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +15,19 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Boolean existsByName(String name);
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.department.id = :departmentId")
     Long countEmployeesByDepartment(@Param("departmentId") Long departmentId);
+
+    // Department rows with their headcount aggregated in the same statement (LEFT JOIN + GROUP BY)
+    @Query("SELECT d AS department, COUNT(e) AS employeeCount FROM Department d LEFT JOIN d.employees e GROUP BY d ORDER BY d.id")
+    List<DepartmentWithEmployeeCount> findAllWithEmployeeCount();
+
+    @Query("SELECT d AS department, COUNT(e) AS employeeCount FROM Department d LEFT JOIN d.employees e WHERE d.id = :id GROUP BY d")
+    Optional<DepartmentWithEmployeeCount> findWithEmployeeCountById(@Param("id") Long id);
+
+    @Query("SELECT d AS department, COUNT(e) AS employeeCount FROM Department d LEFT JOIN d.employees e WHERE d.name = :name GROUP BY d")
+    Optional<DepartmentWithEmployeeCount> findWithEmployeeCountByName(@Param("name") String name);
+
+    interface DepartmentWithEmployeeCount {
+        Department getDepartment();
+        Long getEmployeeCount();
+    }
 }
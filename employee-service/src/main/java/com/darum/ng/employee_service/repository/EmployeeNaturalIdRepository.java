@@ -0,0 +1,10 @@
+package com.darum.ng.employee_service.repository;
+
+import com.darum.ng.employee_service.entity.Employee;
+
+import java.util.Optional;
+
+// Lookups by the Employee natural id (email), which can be answered from the natural-id cache
+public interface EmployeeNaturalIdRepository {
+    Optional<Employee> findByEmail(String email);
+}
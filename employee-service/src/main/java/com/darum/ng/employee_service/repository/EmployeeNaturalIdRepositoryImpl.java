@@ -0,0 +1,26 @@
+package com.darum.ng.employee_service.repository;
+
+import com.darum.ng.employee_service.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// A derived query would always hit the database; the natural-id API consults the
+// natural-id and entity caches first when the second-level cache is enabled
+class EmployeeNaturalIdRepositoryImpl implements EmployeeNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Needs a session that stays open for the call, like the repository's own read methods
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Employee> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Employee.class)
+                .loadOptional(email);
+    }
+}
@@ -1,26 +1,112 @@
 package com.darum.ng.employee_service.repository;
 
 import com.darum.ng.employee_service.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// Finders that feed EmployeeResponse load the department in the same statement
+// (@EntityGraph / JOIN FETCH) so mapping a list never issues one SELECT per row.
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-    Optional<Employee> findByEmail(String email);
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeNaturalIdRepository {
+    // Query cache regions (used when the second-level cache is enabled). Any write to
+    // employees invalidates their results, so they only help between writes.
+    String USER_ID_QUERY_REGION = "employees.query.userId";
+    String STATUS_QUERY_REGION = "employees.query.status";
+    String DEPARTMENT_QUERY_REGION = "employees.query.department";
+
+    @EntityGraph(attributePaths = "department")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = USER_ID_QUERY_REGION)
+    })
     Optional<Employee> findByUserId(Long userId);
-    List<Employee> findByDepartmentId(Long departmentId);
-    List<Employee> findByStatus(Employee.EmployeeStatus status);
 
-    @Query("SELECT e FROM Employee e WHERE e.department.id = :departmentId")
+    @Query("SELECT e FROM Employee e JOIN FETCH e.department d WHERE d.id = :departmentId")
     List<Employee> findEmployeesByDepartment(@Param("departmentId") Long departmentId);
 
-    List<Employee> findByStatusAndDepartmentId(Employee.EmployeeStatus status, Long departmentId);
+    @EntityGraph(attributePaths = "department")
     Optional<Employee> findByIdAndStatus(Long id, Employee.EmployeeStatus status);
+
     boolean existsByEmail(String email);
     boolean existsByUserId(Long userId);
+
+    // Bulk onboarding: which of these emails are already taken, in one statement
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Authorization lookups: ids only, no entity hydration
+    @Query("SELECT e.id AS employeeId, d.id AS departmentId FROM Employee e LEFT JOIN e.department d WHERE e.email = :email")
+    Optional<EmployeeScope> findScopeByEmail(@Param("email") String email);
+
+    @Query("SELECT e.department.id FROM Employee e WHERE e.id = :id")
+    Optional<Long> findDepartmentIdById(@Param("id") Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "department")
+    Optional<Employee> findById(Long id);
+
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findByIdIn(Collection<Long> ids);
+
+    // Keyset (seek) pagination: each page starts after the last row of the previous one
+    @EntityGraph(attributePaths = "department")
+    Window<Employee> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "department")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = DEPARTMENT_QUERY_REGION)
+    })
+    Window<Employee> findByDepartmentId(Long departmentId, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "department")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = STATUS_QUERY_REGION)
+    })
+    Window<Employee> findByStatus(Employee.EmployeeStatus status, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "department")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = STATUS_QUERY_REGION)
+    })
+    Window<Employee> findByStatusAndDepartmentId(Employee.EmployeeStatus status, Long departmentId, ScrollPosition position, Sort sort, Limit limit);
+
+    // Server-side cursor for exports: rows are fetched in chunks of EXPORT_FETCH_SIZE instead of all at once.
+    // Must be consumed inside a transaction and closed by the caller.
+    String EXPORT_FETCH_SIZE = "1000";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.department ORDER BY e.id")
+    Stream<Employee> streamAllForExport();
+
+    interface EmployeeScope {
+        Long getEmployeeId();
+        Long getDepartmentId();
+    }
 }
@@ -0,0 +1,76 @@
+package com.darum.ng.employee_service.repository;
+
+import com.darum.ng.employee_service.entity.Employee;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Composable criteria for employee queries. Every factory returns {@code null} for a missing
+ * value, which {@link Specification#allOf} skips, so callers can pass optional filters directly.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    // Loads the department in the same statement (skipped for count queries, which cannot fetch)
+    public static Specification<Employee> fetchDepartment() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("department", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Employee> hasId(Long id) {
+        return id == null ? null : (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    public static Specification<Employee> hasStatus(Employee.EmployeeStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    // Compares the foreign key column, no join needed
+    public static Specification<Employee> inDepartment(Long departmentId) {
+        return departmentId == null ? null : (root, query, cb) -> cb.equal(root.get("department").get("id"), departmentId);
+    }
+
+    public static Specification<Employee> hasPosition(String position) {
+        return position == null || position.isBlank() ? null
+                : (root, query, cb) -> cb.equal(cb.lower(root.get("position")), position.trim().toLowerCase());
+    }
+
+    public static Specification<Employee> salaryBetween(Double min, Double max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (min == null) {
+                return cb.le(root.get("salary"), max);
+            }
+            if (max == null) {
+                return cb.ge(root.get("salary"), min);
+            }
+            return cb.between(root.get("salary"), min, max);
+        };
+    }
+
+    // Half-open range [from, to)
+    public static Specification<Employee> createdBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThan(root.get("createdAt"), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+            }
+            return cb.and(cb.greaterThanOrEqualTo(root.get("createdAt"), from), cb.lessThan(root.get("createdAt"), to));
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.darum.ng.employee_service.repository;
+
+import com.darum.ng.employee_service.entity.UserProvisioningOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserProvisioningOutboxRepository extends JpaRepository<UserProvisioningOutbox, Long> {
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): concurrent dispatchers claim disjoint rows instead of waiting
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM UserProvisioningOutbox o WHERE o.kind = :kind AND o.nextAttemptAt <= :now ORDER BY o.id")
+    List<UserProvisioningOutbox> findDue(@Param("kind") UserProvisioningOutbox.Kind kind, @Param("now") LocalDateTime now, Limit limit);
+
+    Optional<UserProvisioningOutbox> findByEmployeeIdAndKind(Long employeeId, UserProvisioningOutbox.Kind kind);
+
+    // Queues pushing the employee's department to auth-service. One pending link per employee is
+    // enough: the department is read when the row is sent, not when it is queued.
+    default void requestLink(Long employeeId) {
+        if (findByEmployeeIdAndKind(employeeId, UserProvisioningOutbox.Kind.LINK).isEmpty()) {
+            save(new UserProvisioningOutbox(employeeId, UserProvisioningOutbox.Kind.LINK));
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.darum.ng.employee_service.service;
 
 import com.darum.ng.employee_service.dto.DepartmentRequest;
 import com.darum.ng.employee_service.dto.DepartmentResponse;
+import com.darum.ng.employee_service.entity.Department;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface DepartmentService {
     DepartmentResponse createDepartment(DepartmentRequest request);
@@ -13,4 +15,8 @@ public interface DepartmentService {
     DepartmentResponse updateDepartment(Long id, DepartmentRequest request);
     void deleteDepartmentById(Long id);
     boolean departmentExists(Long id);
+
+    // Cached, read-only department snapshots for lookups on the employee write path
+    Optional<Department> findDepartment(Long id);
+    Optional<Department> findDepartmentByName(String name);
 }
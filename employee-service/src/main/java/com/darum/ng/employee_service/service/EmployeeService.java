@@ -1,17 +1,27 @@
 package com.darum.ng.employee_service.service;
 
+import com.darum.ng.employee_service.dto.EmployeeBatchResponse;
+import com.darum.ng.employee_service.dto.EmployeeFilter;
+import com.darum.ng.employee_service.dto.EmployeePageResponse;
 import com.darum.ng.employee_service.dto.EmployeeRequest;
 import com.darum.ng.employee_service.dto.EmployeeResponse;
+import com.darum.ng.employee_service.dto.ExportFormat;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface EmployeeService {
     EmployeeResponse createEmployee(EmployeeRequest request);
-    List<EmployeeResponse> getAllEmployees();
+    EmployeeBatchResponse createEmployees(List<EmployeeRequest> requests);
+    EmployeePageResponse getAllEmployees(String cursor, Integer size, String sort);
     EmployeeResponse getEmployeeById(Long id);
     EmployeeResponse getEmployeeByUserId(Long userId);
-    List<EmployeeResponse> getEmployeesByDepartment(Long departmentId);
+    EmployeePageResponse getEmployeesByDepartment(Long departmentId, String cursor, Integer size, String sort);
     EmployeeResponse updateEmployee(Long id, EmployeeRequest request);
-    List<EmployeeResponse> getEmployeesByStatus(String status);
+    EmployeePageResponse getEmployeesByStatus(String status, String cursor, Integer size, String sort);
+    EmployeePageResponse queryEmployees(EmployeeFilter filter, String cursor, Integer size, String sort);
+    List<EmployeeResponse> searchEmployees(String query, Integer limit);
     void deleteEmployee(Long id);
+    void exportEmployees(ExportFormat format, OutputStream outputStream) throws IOException;
 }
@@ -6,11 +6,18 @@ import com.darum.ng.employee_service.entity.Department;
 import com.darum.ng.employee_service.repository.DepartmentRepository;
 import com.darum.ng.employee_service.repository.EmployeeRepository;
 import com.darum.ng.employee_service.service.DepartmentService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,9 +27,30 @@ public class DepartmentServiceImpl implements DepartmentService {
 private DepartmentRepository departmentRepository;
 private EmployeeRepository employeeRepository;
 
-    public DepartmentServiceImpl(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository) {
+    // Department catalog: id -> department and name -> department, misses cached as empty.
+    // Entries are detached snapshots, invalidated by this service's writes; the TTL bounds how
+    // long a change made through another instance can go unnoticed.
+    private final LoadingCache<Long, Optional<Department>> departmentsById;
+    private final LoadingCache<String, Optional<Department>> departmentsByName;
+
+    public DepartmentServiceImpl(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository,
+                                 @Value("${departments.cache.ttl:10m}") Duration cacheTtl,
+                                 @Value("${departments.cache.max-entries:1000}") long cacheMaxEntries,
+                                 MeterRegistry meterRegistry) {
         this.departmentRepository = departmentRepository;
         this.employeeRepository = employeeRepository;
+        this.departmentsById = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMaxEntries)
+                .recordStats()
+                .build(id -> departmentRepository.findById(id).map(DepartmentServiceImpl::snapshot));
+        this.departmentsByName = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMaxEntries)
+                .recordStats()
+                .build(name -> departmentRepository.findByName(name).map(DepartmentServiceImpl::snapshot));
+        CaffeineCacheMetrics.monitor(meterRegistry, departmentsById, "departments.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, departmentsByName, "departments.byName");
     }
 
     @Override
@@ -33,15 +61,16 @@ private EmployeeRepository employeeRepository;
         }
         Department department = new Department(request.getName(), request.getDescription());
         Department savedDepartment = departmentRepository.save(department);
+        evict(savedDepartment.getId(), savedDepartment.getName());
         logger.info("Department created successfully with ID: {}", savedDepartment.getId());
 
-        return mapToDepartmentResponse(savedDepartment);
+        return mapToDepartmentResponse(savedDepartment, 0L);
     }
 
     @Override
     public List<DepartmentResponse> getAllDepartments() {
         logger.info("Fetching all departments");
-        return departmentRepository.findAll()
+        return departmentRepository.findAllWithEmployeeCount()
                 .stream()
                 .map(this::mapToDepartmentResponse)
                 .collect(Collectors.toList());
@@ -50,7 +79,7 @@ private EmployeeRepository employeeRepository;
     @Override
     public DepartmentResponse getDepartmentById(Long id) {
         logger.info("Fetching department with ID: {}", id);
-        Department department = departmentRepository.findById(id)
+        DepartmentRepository.DepartmentWithEmployeeCount department = departmentRepository.findWithEmployeeCountById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
         return mapToDepartmentResponse(department);
     }
@@ -59,7 +88,7 @@ private EmployeeRepository employeeRepository;
     public DepartmentResponse getDepartmentByName(String name) {
         logger.info("Fetching department with name: {}", name);
 
-        Department department = departmentRepository.findByName(name)
+        DepartmentRepository.DepartmentWithEmployeeCount department = departmentRepository.findWithEmployeeCountByName(name)
                 .orElseThrow(() -> new RuntimeException("Department not found with name: " + name));
         return mapToDepartmentResponse(department);
     }
@@ -76,11 +105,14 @@ private EmployeeRepository employeeRepository;
             throw new RuntimeException("Department with name '" + request.getName() + "' already exists");
         }
 
+        String previousName = department.getName();
         department.setName(request.getName());
         department.setDescription(request.getDescription());
 
         Department updatedDepartment = departmentRepository.save(department);
-        return mapToDepartmentResponse(updatedDepartment);
+        evict(id, previousName);
+        evict(id, updatedDepartment.getName());
+        return mapToDepartmentResponse(updatedDepartment, departmentRepository.countEmployeesByDepartment(id));
     }
 
     @Override
@@ -95,25 +127,52 @@ private EmployeeRepository employeeRepository;
             throw new RuntimeException("Cannot delete department with " + employeeCount + " employees. Reassign employees first.");
         }
         departmentRepository.delete(department);
+        evict(id, department.getName());
         logger.info("Department deleted successfully with ID: {}", id);
     }
 
     @Override
     public boolean departmentExists(Long id) {
-        return departmentRepository.existsById(id);
+        return findDepartment(id).isPresent();
+    }
+
+    @Override
+    public Optional<Department> findDepartment(Long id) {
+        return id == null ? Optional.empty() : departmentsById.get(id);
+    }
+
+    @Override
+    public Optional<Department> findDepartmentByName(String name) {
+        return name == null ? Optional.empty() : departmentsByName.get(name);
     }
-    // Helper method to convert Entity to Response DTO
-    private DepartmentResponse mapToDepartmentResponse(Department department) {
+
+    private void evict(Long id, String name) {
+        departmentsById.invalidate(id);
+        departmentsByName.invalidate(name);
+    }
+
+    // Detached copy without the lazy employees collection, safe to share between requests
+    private static Department snapshot(Department department) {
+        Department copy = new Department(department.getName(), department.getDescription());
+        copy.setId(department.getId());
+        copy.setManagerId(department.getManagerId());
+        copy.setManagerUserId(department.getManagerUserId());
+        copy.setCreatedAt(department.getCreatedAt());
+        copy.setUpdatedAt(department.getUpdatedAt());
+        return copy;
+    }
+    // Helper methods to convert Entity to Response DTO
+    private DepartmentResponse mapToDepartmentResponse(DepartmentRepository.DepartmentWithEmployeeCount row) {
+        return mapToDepartmentResponse(row.getDepartment(), row.getEmployeeCount());
+    }
+
+    private DepartmentResponse mapToDepartmentResponse(Department department, Long employeeCount) {
         DepartmentResponse response = new DepartmentResponse();
         response.setId(department.getId());
         response.setName(department.getName());
         response.setDescription(department.getDescription());
         response.setCreatedAt(department.getCreatedAt());
         response.setUpdatedAt(department.getUpdatedAt());
-
-        // Count employees in this department
-        Long employeeCount = departmentRepository.countEmployeesByDepartment(department.getId());
-
         response.setEmployeeCount(employeeCount != null ? employeeCount.intValue() : 0);
          return response;
     }
@@ -1,28 +1,65 @@
 package com.darum.ng.employee_service.service.impl;
 
-import com.darum.ng.employee_service.client.AuthServiceClient;
+import com.darum.ng.employee_service.dto.EmployeeBatchItemResult;
+import com.darum.ng.employee_service.dto.EmployeeBatchResponse;
+import com.darum.ng.employee_service.dto.EmployeeFilter;
+import com.darum.ng.employee_service.dto.EmployeePageResponse;
 import com.darum.ng.employee_service.dto.EmployeeRequest;
 import com.darum.ng.employee_service.dto.EmployeeResponse;
-import com.darum.ng.employee_service.dto.UserRegistrationRequest;
-import com.darum.ng.employee_service.dto.UserRegistrationResponse;
+import com.darum.ng.employee_service.dto.ExportFormat;
 import com.darum.ng.employee_service.entity.Department;
 import com.darum.ng.employee_service.entity.Employee;
+import com.darum.ng.employee_service.entity.UserProvisioningOutbox;
 import com.darum.ng.employee_service.repository.DepartmentRepository;
 import com.darum.ng.employee_service.repository.EmployeeRepository;
+import com.darum.ng.employee_service.repository.EmployeeSpecifications;
+import com.darum.ng.employee_service.repository.UserProvisioningOutboxRepository;
 import com.darum.ng.employee_service.service.DepartmentService;
 import com.darum.ng.employee_service.service.EmployeeService;
+import com.darum.ng.employee_service.utils.EmployeeCursor;
+import com.darum.ng.employee_service.utils.EmployeeSearchIndex;
+import com.darum.ng.employee_service.utils.ResolvedPrincipal;
 import com.darum.ng.employee_service.utils.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
@@ -30,40 +67,58 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private EmployeeRepository employeeRepository;
     private DepartmentRepository departmentRepository;
-    private AuthServiceClient  authServiceClient;
     private DepartmentService departmentService;
     private final SecurityUtils securityUtils;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final UserProvisioningOutboxRepository outboxRepository;
+    private final EmployeeSearchIndex searchIndex;
+
+    // Rows written between persistence context clears (and response flushes) during an export
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+    // Employees inserted per transaction during bulk onboarding; matches hibernate.jdbc.batch_size
+    // and the employees_seq allocation size so each chunk is one id fetch and one JDBC batch
+    private static final int BATCH_INSERT_CHUNK_SIZE = 50;
+    // Values per IN (...) lookup, well below the driver's bind parameter limit
+    private static final int BATCH_LOOKUP_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final String CSV_HEADER = "id,firstName,lastName,email,phoneNumber,position,salary,status,departmentId,departmentName,userId,createdAt,updatedAt";
 
 
     @Autowired
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository, AuthServiceClient authServiceClient, DepartmentService departmentService, SecurityUtils securityUtils) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository, DepartmentService departmentService, SecurityUtils securityUtils,
+                               EntityManager entityManager, ObjectMapper objectMapper, Validator validator,
+                               PlatformTransactionManager transactionManager, UserProvisioningOutboxRepository outboxRepository,
+                               EmployeeSearchIndex searchIndex) {
         this.employeeRepository = employeeRepository;
         this.departmentRepository = departmentRepository;
-        this.authServiceClient = authServiceClient;
         this.departmentService = departmentService;
         this.securityUtils = securityUtils;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxRepository = outboxRepository;
+        this.searchIndex = searchIndex;
     }
 
 
     @Override
+    @Transactional
     public EmployeeResponse createEmployee(EmployeeRequest request) {
         logger.info("Creating new employee: {} {}", request.getFirstName(), request.getLastName());
 
-        // 1. Validate department exists using DepartmentService
-        if (!departmentService.departmentExists(request.getDepartmentId())) {
-            throw new RuntimeException("Department not found with id: " + request.getDepartmentId());
-        }
-
-        // 2. Get the department entity
-        Department department = departmentRepository.findById(request.getDepartmentId()).orElseThrow(()->
-                new RuntimeException("Department not found with id " + request.getDepartmentId()));
+        // 1-2. Validate the department exists and get it (cached by DepartmentService)
+        Department department = departmentService.findDepartment(request.getDepartmentId()).orElseThrow(() ->
+                new RuntimeException("Department not found with id: " + request.getDepartmentId()));
 
         // 3. Check if employee email already exists
         if (employeeRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException( "Employee with email" + request.getEmail() + " already exists" );
         }
-// 3. Auto-create user in Auth Service using Feign Client
-        Long userId = createUserInAuthService(request);
 
         // 4. Create employee record
         Employee employee = new Employee(
@@ -75,94 +130,156 @@ public class EmployeeServiceImpl implements EmployeeService {
                 request.getPhoneNumber()   // 6th parameter - phoneNumber
         );
 employee.setDepartment(department);
-        employee.setUserId(userId);
         employee.setStatus(Employee.EmployeeStatus.ACTIVE);
+        employee.setProvisioningStatus(Employee.ProvisioningStatus.PENDING);
 
         Employee savedEmployee = employeeRepository.save(employee);
-        logger.info("Employee created successfully with ID: {}", savedEmployee.getId());
+
+        // 5. Queue the auth-service account in the same transaction; UserProvisioningDispatcher
+        //    creates it in the background and backfills userId
+        outboxRepository.save(new UserProvisioningOutbox(savedEmployee.getId()));
+        afterCommit(() -> searchIndex.put(savedEmployee));
+        logger.info("Employee created successfully with ID: {}, user account pending", savedEmployee.getId());
 
          return mapToEmployeeResponse(savedEmployee);
     }
 
-    private long createUserInAuthService(EmployeeRequest request) {
-        try {
-            logger.info("Creating user account in Auth Service for: {}", request.getEmail());
-
-            String temporaryPassword = generateTemporaryPassword();
-
-            // Generate username from email (before @ symbol)
-            String username = request.getEmail().split("@")[0];
-
-            UserRegistrationRequest userRequest = new UserRegistrationRequest(
-                    username,
-                    request.getEmail(),
-                    temporaryPassword,
-                    request.getFirstName(),
-                    request.getLastName()
-
-            );
-            // Use Feign Client with ResponseEntity
-            ResponseEntity<Map<String, Object>> response = authServiceClient.registerEmployee(userRequest);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
-
-                // Extract userId from response - THIS IS THE KEY FIX
-//                Long userId = Long.valueOf(responseBody.get("userId").toString());
-//
-//                logger.info("User account created successfully with ID: {}", userId);
-//                return userId;
-                // Extract userId from response
-                Object userIdObj = responseBody.get("userId");
-                if (userIdObj != null) {
-                    Long userId = Long.valueOf(userIdObj.toString());
-                    logger.info("User account created successfully with ID: {}", userId);
-                    return userId;
-                } else {
-                    throw new RuntimeException("User ID not found in auth service response");
-                }
+    @Override
+    public EmployeeBatchResponse createEmployees(List<EmployeeRequest> requests) {
+        logger.info("Creating batch of {} employees", requests.size());
+        EmployeeBatchItemResult[] results = new EmployeeBatchItemResult[requests.size()];
+
+        // 1. Validate each item on its own and reject emails repeated within the batch
+        Set<String> batchEmails = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EmployeeRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = EmployeeBatchItemResult.failed(i, null, "Employee is required");
+                continue;
+            }
+            Set<ConstraintViolation<EmployeeRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String error = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                results[i] = EmployeeBatchItemResult.failed(i, request.getEmail(), error);
+            } else if (!batchEmails.add(request.getEmail())) {
+                results[i] = EmployeeBatchItemResult.failed(i, request.getEmail(), "Duplicate email in batch: " + request.getEmail());
+            } else {
+                candidates.add(i);
+            }
+        }
 
+        // 2. Set-based checks: existing emails and departments in a handful of IN (...) queries
+        Set<String> existingEmails = findExistingEmails(candidates.stream().map(i -> requests.get(i).getEmail()).toList());
+        Map<Long, Department> departments = departmentRepository.findAllById(
+                        candidates.stream().map(i -> requests.get(i).getDepartmentId()).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Department::getId, Function.identity()));
+
+        // 3. Employee rows to insert, keyed by request index
+        Map<Integer, Employee> toInsert = new LinkedHashMap<>();
+        for (Integer i : candidates) {
+            EmployeeRequest request = requests.get(i);
+            if (existingEmails.contains(request.getEmail())) {
+                results[i] = EmployeeBatchItemResult.failed(i, request.getEmail(), "Employee with email " + request.getEmail() + " already exists");
+            } else if (!departments.containsKey(request.getDepartmentId())) {
+                results[i] = EmployeeBatchItemResult.failed(i, request.getEmail(), "Department not found with id: " + request.getDepartmentId());
             } else {
-                throw new RuntimeException("Auth service returned error: " + response.getStatusCode());
+                Employee employee = new Employee(request.getFirstName(), request.getLastName(), request.getEmail(),
+                        request.getPosition(), request.getSalary(), request.getPhoneNumber());
+                employee.setDepartment(departments.get(request.getDepartmentId()));
+                employee.setStatus(Employee.EmployeeStatus.ACTIVE);
+                employee.setProvisioningStatus(Employee.ProvisioningStatus.PENDING);
+                toInsert.put(i, employee);
             }
-        } catch (Exception e) {
-            logger.error("Failed to create user account in Auth Service: {}", e.getMessage());
-            throw new RuntimeException("Error creating user account: " + e.getMessage(), e);
         }
+
+        // 4. Insert in chunks, one transaction and one JDBC batch each; a failing chunk does not undo the others.
+        //    Each employee's outbox row goes in the same transaction, the accounts are created in the background.
+        List<Map.Entry<Integer, Employee>> rows = new ArrayList<>(toInsert.entrySet());
+        for (int from = 0; from < rows.size(); from += BATCH_INSERT_CHUNK_SIZE) {
+            List<Map.Entry<Integer, Employee>> chunk = rows.subList(from, Math.min(from + BATCH_INSERT_CHUNK_SIZE, rows.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<Employee> saved = employeeRepository.saveAll(chunk.stream().map(Map.Entry::getValue).toList());
+                    outboxRepository.saveAll(saved.stream().map(employee -> new UserProvisioningOutbox(employee.getId())).toList());
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                chunk.forEach(row -> {
+                    afterCommit(() -> searchIndex.put(row.getValue()));
+                    results[row.getKey()] = EmployeeBatchItemResult.created(
+                            row.getKey(), row.getValue().getEmail(), row.getValue().getId());
+                });
+            } catch (RuntimeException e) {
+                logger.error("Failed to insert employees {}..{} of the batch: {}", from, from + chunk.size() - 1, e.getMessage());
+                chunk.forEach(row -> results[row.getKey()] = EmployeeBatchItemResult.failed(
+                        row.getKey(), row.getValue().getEmail(), "Could not save employee: " + e.getMessage()));
+            }
+        }
+
+        List<EmployeeBatchItemResult> resultList = List.of(results);
+        int created = (int) resultList.stream().filter(result -> result.getStatus() == EmployeeBatchItemResult.Status.CREATED).count();
+        logger.info("Batch finished: {} created, {} failed", created, resultList.size() - created);
+        return new EmployeeBatchResponse(resultList.size(), created, resultList.size() - created, resultList);
     }
 
-    private String generateTemporaryPassword() {
-        return "Temp@" + UUID.randomUUID().toString().substring(0 ,8);
+    private Set<String> findExistingEmails(List<String> emails) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += BATCH_LOOKUP_CHUNK_SIZE) {
+            existing.addAll(employeeRepository.findExistingEmails(
+                    emails.subList(from, Math.min(from + BATCH_LOOKUP_CHUNK_SIZE, emails.size()))));
+        }
+        return existing;
+    }
+
+    // Search index changes wait for the surrounding transaction to commit, so a rolled back or
+    // failed commit never leaves an id behind; without a transaction they apply right away
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     @Override
-    public List<EmployeeResponse> getAllEmployees() {
-        logger.info("Fetching all employees");
-        if (securityUtils.isAdmin()) {
-            return employeeRepository.findAll().stream()
-                    .map(this::mapToEmployeeResponse)
-                    .collect(Collectors.toList());
-
-        } else if (securityUtils.isManager()) {
+    public EmployeePageResponse getAllEmployees(String cursor, Integer size, String sort) {
+        logger.info("Fetching employees page (size: {}, sort: {})", size, sort);
+        EmployeeCursor.SortKey sortKey = EmployeeCursor.SortKey.from(sort);
+        ScrollPosition position = EmployeeCursor.decode(cursor, sortKey);
+        Limit limit = EmployeeCursor.limit(size);
+        ResolvedPrincipal principal = securityUtils.getCurrentPrincipal();
+
+        if (principal.isAdmin()) {
+            return toPage(employeeRepository.findAllBy(position, sortKey.toSort(), limit), sortKey);
+
+        } else if (principal.isManager()) {
             Long managerDepartmentId = securityUtils.getCurrentUserDepartmentId();
 
             if (managerDepartmentId == null) {
-                return Collections.emptyList();
+                return emptyPage(sortKey);
             }
-            return employeeRepository.findEmployeesByDepartment(managerDepartmentId).stream()
-                    .map(this::mapToEmployeeResponse)
-                    .collect(Collectors.toList());
+            return toPage(employeeRepository.findByDepartmentId(managerDepartmentId, position, sortKey.toSort(), limit), sortKey);
 
             //COMPLETE: Employee sees only themselves
         }else {
             Long employeeId = securityUtils.getCurrentUserEmployeeId();
-            if (employeeId == null) {
-                return Collections.emptyList();
+            if (employeeId == null || cursor != null) {
+                return emptyPage(sortKey);
             }
 
             return employeeRepository.findById(employeeId)
-                    .map(employee -> List.of(mapToEmployeeResponse(employee)))
-                    .orElse(Collections.emptyList());
+                    .map(employee -> singlePage(employee, sortKey))
+                    .orElse(emptyPage(sortKey));
         }
     }
 
@@ -185,20 +302,20 @@ employee.setDepartment(department);
     }
 
     @Override
-    public List<EmployeeResponse> getEmployeesByDepartment(Long departmentId) {
+    public EmployeePageResponse getEmployeesByDepartment(Long departmentId, String cursor, Integer size, String sort) {
 
         if (!securityUtils.canAccessDepartment(departmentId)) {
             throw new RuntimeException("Access denied to department: " + departmentId);
         }
 
             logger.info("Fetching employees for department ID: {}", departmentId);
-        return employeeRepository.findEmployeesByDepartment(departmentId)
-                .stream()
-                .map(this::mapToEmployeeResponse)
-                .collect(Collectors.toList());
+        EmployeeCursor.SortKey sortKey = EmployeeCursor.SortKey.from(sort);
+        return toPage(employeeRepository.findByDepartmentId(departmentId,
+                EmployeeCursor.decode(cursor, sortKey), sortKey.toSort(), EmployeeCursor.limit(size)), sortKey);
     }
 
     @Override
+    @Transactional
     public EmployeeResponse updateEmployee(Long id, EmployeeRequest request) {
         logger.info("Updating employee with ID: {}", id);
 
@@ -223,41 +340,164 @@ employee.setDepartment(department);
         }
 
         // Update department if changed
+        boolean departmentChanged = false;
         if(!employee.getDepartment().getId().equals(request.getDepartmentId())) {
-            Department newDepartment = departmentRepository.findById(request.getDepartmentId())
+            Department newDepartment = departmentService.findDepartment(request.getDepartmentId())
                     .orElseThrow(()-> new RuntimeException("Department not found with ID: " + request.getDepartmentId()));
 
             employee.setDepartment(newDepartment);
             logger.info("Employee department updated to: {}", newDepartment.getName());
+            departmentChanged = true;
         }
 
         Employee updatedEmployee = employeeRepository.save(employee);
+        afterCommit(() -> searchIndex.put(updatedEmployee));
+        if (departmentChanged && updatedEmployee.getUserId() != null) {
+            // Committed with the change and retried by UserProvisioningDispatcher until auth-service
+            // has it, so tokens issued afterwards carry the new department. Accounts still being
+            // provisioned get it from the registration.
+            outboxRepository.requestLink(updatedEmployee.getId());
+        }
         return mapToEmployeeResponse(updatedEmployee);
     }
 
 
     @Override
-    public List<EmployeeResponse> getEmployeesByStatus(String status) {
+    public EmployeePageResponse getEmployeesByStatus(String status, String cursor, Integer size, String sort) {
         logger.info("Fetching employees with status: {}", status);
         Employee.EmployeeStatus employeeStatus = Employee.EmployeeStatus.valueOf(status.toUpperCase());
-
-        if (securityUtils.isAdmin()) {
-            return employeeRepository.findByStatus(employeeStatus).stream()
-                    .map(this::mapToEmployeeResponse).collect(Collectors.toList());
-        } else if (securityUtils.isManager()) {
+        EmployeeCursor.SortKey sortKey = EmployeeCursor.SortKey.from(sort);
+        ScrollPosition position = EmployeeCursor.decode(cursor, sortKey);
+        Limit limit = EmployeeCursor.limit(size);
+        ResolvedPrincipal principal = securityUtils.getCurrentPrincipal();
+
+        if (principal.isAdmin()) {
+            return toPage(employeeRepository.findByStatus(employeeStatus, position, sortKey.toSort(), limit), sortKey);
+        } else if (principal.isManager()) {
             Long managerDepartmentId = securityUtils.getCurrentUserDepartmentId();
-            if (managerDepartmentId == null) return Collections.emptyList();
+            if (managerDepartmentId == null) return emptyPage(sortKey);
 
-            return employeeRepository.findByStatusAndDepartmentId(employeeStatus, managerDepartmentId).stream()
-                    .map(this::mapToEmployeeResponse).collect(Collectors.toList());
+            return toPage(employeeRepository.findByStatusAndDepartmentId(employeeStatus, managerDepartmentId,
+                    position, sortKey.toSort(), limit), sortKey);
         } else {
             Long employeeId = securityUtils.getCurrentUserEmployeeId();
-            if (employeeId == null) return Collections.emptyList();
+            if (employeeId == null || cursor != null) return emptyPage(sortKey);
 
             return employeeRepository.findByIdAndStatus(employeeId, employeeStatus)
-                    .map(employee -> List.of(mapToEmployeeResponse(employee)))
-                    .orElse(Collections.emptyList());
+                    .map(employee -> singlePage(employee, sortKey))
+                    .orElse(emptyPage(sortKey));
+        }
+    }
+
+    // Any combination of filters as one query; the caller's role scope is ANDed in like getAllEmployees
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePageResponse queryEmployees(EmployeeFilter filter, String cursor, Integer size, String sort) {
+        EmployeeCursor.SortKey sortKey = EmployeeCursor.SortKey.from(sort);
+        ScrollPosition position = EmployeeCursor.decode(cursor, sortKey);
+        Limit limit = EmployeeCursor.limit(size);
+
+        if (filter.getMinSalary() != null && filter.getMaxSalary() != null && filter.getMinSalary() > filter.getMaxSalary()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minSalary must not be greater than maxSalary");
+        }
+        if (filter.getCreatedFrom() != null && filter.getCreatedTo() != null && filter.getCreatedFrom().isAfter(filter.getCreatedTo())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "createdFrom must not be after createdTo");
+        }
+        Employee.EmployeeStatus status = null;
+        if (filter.getStatus() != null && !filter.getStatus().isBlank()) {
+            try {
+                status = Employee.EmployeeStatus.valueOf(filter.getStatus().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status: " + filter.getStatus());
+            }
+        }
+
+        Specification<Employee> scope;
+        ResolvedPrincipal principal = securityUtils.getCurrentPrincipal();
+        if (principal.isAdmin()) {
+            scope = null;
+        } else if (principal.isManager()) {
+            Long managerDepartmentId = securityUtils.getCurrentUserDepartmentId();
+            if (managerDepartmentId == null) {
+                return emptyPage(sortKey);
+            }
+            scope = EmployeeSpecifications.inDepartment(managerDepartmentId);
+        } else {
+            Long employeeId = securityUtils.getCurrentUserEmployeeId();
+            if (employeeId == null) {
+                return emptyPage(sortKey);
+            }
+            scope = EmployeeSpecifications.hasId(employeeId);
+        }
+
+        Specification<Employee> specification = Specification.allOf(
+                EmployeeSpecifications.fetchDepartment(),
+                scope,
+                EmployeeSpecifications.hasStatus(status),
+                EmployeeSpecifications.inDepartment(filter.getDepartmentId()),
+                EmployeeSpecifications.hasPosition(filter.getPosition()),
+                EmployeeSpecifications.salaryBetween(filter.getMinSalary(), filter.getMaxSalary()),
+                EmployeeSpecifications.createdBetween(filter.getCreatedFrom(), filter.getCreatedTo()));
+
+        // Keyset scroll like the other listings
+        Window<Employee> window = employeeRepository.findBy(specification, query -> query
+                .sortBy(sortKey.toSort())
+                .limit(limit.max())
+                .scroll(position));
+        return toPage(window, sortKey);
+    }
+
+    // Prefix search over names, email and position; scoped like getAllEmployees, INACTIVE employees excluded
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeResponse> searchEmployees(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query parameter q must not be blank");
+        }
+        if (!searchIndex.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Employee search index is still being built");
+        }
+        int max = limit == null || limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+        ResolvedPrincipal principal = securityUtils.getCurrentPrincipal();
+
+        // The index is per instance and may be stale (writes made through other instances), so it
+        // only proposes candidates; the loaded rows are checked against the scope again
+        LongPredicate inScope;
+        Predicate<Employee> visible;
+        if (principal.isAdmin()) {
+            inScope = id -> true;
+            visible = employee -> true;
+        } else if (principal.isManager()) {
+            Long managerDepartmentId = securityUtils.getCurrentUserDepartmentId();
+            if (managerDepartmentId == null) {
+                return List.of();
+            }
+            inScope = id -> managerDepartmentId.equals(searchIndex.getDepartmentId(id));
+            visible = employee -> employee.getDepartment() != null
+                    && managerDepartmentId.equals(employee.getDepartment().getId());
+        } else {
+            Long employeeId = securityUtils.getCurrentUserEmployeeId();
+            if (employeeId == null) {
+                return List.of();
+            }
+            inScope = id -> id == employeeId;
+            visible = employee -> employeeId.equals(employee.getId());
         }
+
+        List<Long> ids = searchIndex.search(query, inScope, max);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // One query for all hits, returned in index order
+        Map<Long, Employee> employees = employeeRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return ids.stream()
+                .map(employees::get)
+                .filter(Objects::nonNull)
+                .filter(employee -> employee.getStatus() != Employee.EmployeeStatus.INACTIVE)
+                .filter(visible)
+                .map(this::mapToEmployeeResponse)
+                .toList();
     }
 
     @Override
@@ -270,10 +510,84 @@ employee.setDepartment(department);
         // Soft delete by changing status
         employee.setStatus(Employee.EmployeeStatus.INACTIVE);
         employeeRepository.save(employee);
+        afterCommit(() -> searchIndex.remove(id));
         logger.info("Employee marked as INACTIVE");
 
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(ExportFormat format, OutputStream outputStream) throws IOException {
+        logger.info("Exporting employee directory as {}", format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            writer.flush();
+        }
+
+        long count = 0;
+        try (Stream<Employee> employees = employeeRepository.streamAllForExport()) {
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                EmployeeResponse employee = mapToEmployeeResponse(iterator.next());
+                writer.write(format == ExportFormat.CSV ? toCsvRow(employee) : objectMapper.writeValueAsString(employee));
+                writer.write('\n');
+                count++;
+
+                // Send the first row straight away, then release memory and push a chunk every EXPORT_CHUNK_SIZE rows
+                if (count == 1 || count % EXPORT_CHUNK_SIZE == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        logger.info("Exported {} employees as {}", count, format);
+    }
+
+    private String toCsvRow(EmployeeResponse employee) {
+        return String.join(",",
+                csv(employee.getId()), csv(employee.getFirstName()), csv(employee.getLastName()),
+                csv(employee.getEmail()), csv(employee.getPhoneNumber()), csv(employee.getPosition()),
+                csv(employee.getSalary()), csv(employee.getStatus()), csv(employee.getDepartmentId()),
+                csv(employee.getDepartmentName()), csv(employee.getUserId()),
+                csv(employee.getCreatedAt()), csv(employee.getUpdatedAt()));
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    // Helper methods to wrap a keyset window into a page response
+    private EmployeePageResponse toPage(Window<Employee> window, EmployeeCursor.SortKey sortKey) {
+        List<EmployeeResponse> content = window.getContent().stream()
+                .map(this::mapToEmployeeResponse)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = EmployeeCursor.encode(sortKey, window.getContent().get(window.size() - 1));
+        }
+        return new EmployeePageResponse(content, content.size(), sortKey.getProperty(), nextCursor, nextCursor != null);
+    }
+
+    private EmployeePageResponse singlePage(Employee employee, EmployeeCursor.SortKey sortKey) {
+        return new EmployeePageResponse(List.of(mapToEmployeeResponse(employee)), 1, sortKey.getProperty(), null, false);
+    }
+
+    private EmployeePageResponse emptyPage(EmployeeCursor.SortKey sortKey) {
+        return new EmployeePageResponse(Collections.emptyList(), 0, sortKey.getProperty(), null, false);
+    }
+
     // Helper method to convert Entity to Response DTO
     private EmployeeResponse mapToEmployeeResponse(Employee employee) {
         EmployeeResponse employeeResponse = new EmployeeResponse();
@@ -286,6 +600,7 @@ employee.setDepartment(department);
         employeeResponse.setSalary(employee.getSalary());
         employeeResponse.setStatus(employee.getStatus());
        employeeResponse.setUserId(employee.getUserId());
+       employeeResponse.setProvisioningStatus(employee.getProvisioningStatus());
        employeeResponse.setCreatedAt(employee.getCreatedAt());
        employeeResponse.setUpdatedAt(employee.getUpdatedAt());
 
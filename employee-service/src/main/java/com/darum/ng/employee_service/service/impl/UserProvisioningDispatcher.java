@@ -0,0 +1,283 @@
+package com.darum.ng.employee_service.service.impl;
+
+import com.darum.ng.employee_service.client.ResilientAuthServiceClient;
+import com.darum.ng.employee_service.dto.EmployeeLinkRequest;
+import com.darum.ng.employee_service.dto.UserBatchRegistrationRequest;
+import com.darum.ng.employee_service.dto.UserBatchRegistrationResponse;
+import com.darum.ng.employee_service.dto.UserBatchRegistrationResult;
+import com.darum.ng.employee_service.dto.UserRegistrationRequest;
+import com.darum.ng.employee_service.entity.Employee;
+import com.darum.ng.employee_service.entity.UserProvisioningOutbox;
+import com.darum.ng.employee_service.repository.EmployeeRepository;
+import com.darum.ng.employee_service.repository.UserProvisioningOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the user provisioning outbox: creates the auth-service accounts of new employees in
+ * batches and backfills {@code Employee.userId}, and pushes department changes of linked
+ * employees to auth-service so the tokens it issues carry the current department.
+ * <p>
+ * Due rows are claimed with SKIP LOCKED and leased (pushed into the future) before auth-service
+ * is called, so several instances can run the dispatcher and no transaction stays open during
+ * the HTTP call. When the whole call fails the rows are retried with exponential backoff;
+ * an item auth-service rejects marks its employee FAILED.
+ * <p>
+ * A link sends the department read when its row is claimed. If the employee's department has
+ * changed again by the time the call succeeds, the row is kept (or re-queued) and sent again,
+ * so auth-service ends up with the latest department even when links overlap.
+ */
+@Component
+public class UserProvisioningDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(UserProvisioningDispatcher.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    static final String PROVISIONING_KEY_PREFIX = "employee-outbox-";
+
+    private final UserProvisioningOutboxRepository outboxRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ResilientAuthServiceClient authServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+
+    public UserProvisioningDispatcher(UserProvisioningOutboxRepository outboxRepository,
+                                      EmployeeRepository employeeRepository,
+                                      ResilientAuthServiceClient authServiceClient,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${provisioning.batch-size:100}") int batchSize,
+                                      @Value("${provisioning.max-attempts:10}") int maxAttempts,
+                                      @Value("${provisioning.retry-backoff:10s}") Duration retryBackoff,
+                                      @Value("${provisioning.lease:2m}") Duration lease) {
+        this.outboxRepository = outboxRepository;
+        this.employeeRepository = employeeRepository;
+        this.authServiceClient = authServiceClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${provisioning.dispatch-interval:5000}")
+    public void dispatch() {
+        // Keep going while full batches come back so a bulk onboarding drains in one run
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+        do {
+            dispatched = dispatchLinks();
+        } while (dispatched == batchSize);
+    }
+
+    int dispatchBatch() {
+        List<Claim> claims = transactionTemplate.execute(status -> claimDueRows());
+        if (claims == null || claims.isEmpty()) {
+            return 0;
+        }
+
+        List<UserRegistrationRequest> users = claims.stream().map(Claim::user).toList();
+        try {
+            ResponseEntity<UserBatchRegistrationResponse> response =
+                    authServiceClient.registerEmployees(new UserBatchRegistrationRequest(users));
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null
+                    || response.getBody().getResults() == null || response.getBody().getResults().size() != claims.size()) {
+                throw new RuntimeException("Auth service returned error: " + response.getStatusCode());
+            }
+            transactionTemplate.executeWithoutResult(status -> applyResults(claims, response.getBody().getResults()));
+        } catch (Exception e) {
+            logger.error("Failed to provision {} user accounts in Auth Service: {}", claims.size(), e.getMessage());
+            List<Long> outboxIds = claims.stream().map(Claim::outboxId).toList();
+            transactionTemplate.executeWithoutResult(status -> scheduleRetry(outboxIds, e.getMessage()));
+        }
+        return claims.size();
+    }
+
+    // One call per employee: auth-service has no batch link endpoint
+    int dispatchLinks() {
+        List<LinkClaim> claims = transactionTemplate.execute(status -> claimDueLinks());
+        if (claims == null || claims.isEmpty()) {
+            return 0;
+        }
+        for (LinkClaim claim : claims) {
+            try {
+                ResponseEntity<Map<String, Object>> response = authServiceClient.linkEmployee(claim.userId(), claim.link());
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    throw new RuntimeException("Auth service returned error: " + response.getStatusCode());
+                }
+                transactionTemplate.executeWithoutResult(status -> completeLink(claim));
+            } catch (Exception e) {
+                logger.error("Failed to link user {} to employee {}: {}", claim.userId(), claim.link().getEmployeeId(), e.getMessage());
+                transactionTemplate.executeWithoutResult(status -> scheduleRetry(List.of(claim.outboxId()), e.getMessage()));
+            }
+        }
+        return claims.size();
+    }
+
+    // Runs in a transaction: lock due rows, lease them and build the registration requests
+    private List<Claim> claimDueRows() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UserProvisioningOutbox> due = outboxRepository.findDue(UserProvisioningOutbox.Kind.PROVISION, now, Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Employee> employees = employeesById(due.stream().map(UserProvisioningOutbox::getEmployeeId).toList());
+
+        List<Claim> claims = new ArrayList<>();
+        for (UserProvisioningOutbox row : due) {
+            Employee employee = employees.get(row.getEmployeeId());
+            if (employee == null || employee.getUserId() != null) {
+                // Employee deleted or already linked: nothing left to provision
+                outboxRepository.delete(row);
+                continue;
+            }
+            row.setAttempts(row.getAttempts() + 1);
+            row.setNextAttemptAt(now.plus(lease));
+            claims.add(new Claim(row.getId(), employee.getId(), toUserRegistrationRequest(employee, row)));
+        }
+        return claims;
+    }
+
+    private List<LinkClaim> claimDueLinks() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UserProvisioningOutbox> due = outboxRepository.findDue(UserProvisioningOutbox.Kind.LINK, now, Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Employee> employees = employeesById(due.stream().map(UserProvisioningOutbox::getEmployeeId).toList());
+
+        List<LinkClaim> claims = new ArrayList<>();
+        for (UserProvisioningOutbox row : due) {
+            Employee employee = employees.get(row.getEmployeeId());
+            if (employee == null || employee.getUserId() == null) {
+                // Employee deleted, or not provisioned yet: the registration carries the current department
+                outboxRepository.delete(row);
+                continue;
+            }
+            row.setAttempts(row.getAttempts() + 1);
+            row.setNextAttemptAt(now.plus(lease));
+            claims.add(new LinkClaim(row.getId(), employee.getUserId(),
+                    new EmployeeLinkRequest(employee.getId(), departmentIdOf(employee))));
+        }
+        return claims;
+    }
+
+    // Done only if auth-service now holds the current department; otherwise send it again right away
+    private void completeLink(LinkClaim claim) {
+        Long employeeId = claim.link().getEmployeeId();
+        Employee employee = employeeRepository.findById(employeeId).orElse(null);
+        Optional<UserProvisioningOutbox> row = outboxRepository.findByEmployeeIdAndKind(employeeId, UserProvisioningOutbox.Kind.LINK);
+        if (employee == null || Objects.equals(departmentIdOf(employee), claim.link().getDepartmentId())) {
+            row.filter(pending -> pending.getId().equals(claim.outboxId())).ifPresent(outboxRepository::delete);
+            return;
+        }
+        UserProvisioningOutbox pending = row.orElseGet(() -> new UserProvisioningOutbox(employeeId, UserProvisioningOutbox.Kind.LINK));
+        pending.setAttempts(0);
+        pending.setNextAttemptAt(LocalDateTime.now());
+        outboxRepository.save(pending);
+    }
+
+    private void applyResults(List<Claim> claims, List<UserBatchRegistrationResult> results) {
+        Map<Long, Employee> employees = employeesById(claims.stream().map(Claim::employeeId).toList());
+        for (UserBatchRegistrationResult result : results) {
+            Claim claim = claims.get(result.getIndex());
+            Employee employee = employees.get(claim.employeeId());
+            if (employee == null) {
+                continue;
+            }
+            if (result.getUserId() != null) {
+                employee.setUserId(result.getUserId());
+                employee.setProvisioningStatus(Employee.ProvisioningStatus.PROVISIONED);
+                if (!Objects.equals(departmentIdOf(employee), claim.user().getDepartmentId())) {
+                    // Moved while the account was being created: it holds the old department
+                    outboxRepository.requestLink(employee.getId());
+                }
+            } else {
+                logger.error("Auth service rejected user account for employee {}: {}", claim.employeeId(), result.getError());
+                employee.setProvisioningStatus(Employee.ProvisioningStatus.FAILED);
+            }
+        }
+        outboxRepository.deleteAllByIdInBatch(claims.stream().map(Claim::outboxId).toList());
+    }
+
+    private void scheduleRetry(List<Long> outboxIds, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> exhausted = new ArrayList<>();
+        for (UserProvisioningOutbox row : outboxRepository.findAllById(outboxIds)) {
+            row.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (row.getAttempts() < maxAttempts) {
+                row.setNextAttemptAt(now.plus(backoff(row.getAttempts())));
+                continue;
+            }
+            outboxRepository.delete(row);
+            if (row.getKind() == UserProvisioningOutbox.Kind.LINK) {
+                // Tokens keep the old department; SecurityUtils stops trusting the claims after scope-claims.max-age
+                logger.error("Giving up linking employee {} after {} attempts", row.getEmployeeId(), maxAttempts);
+            } else {
+                exhausted.add(row.getEmployeeId());
+            }
+        }
+        if (!exhausted.isEmpty()) {
+            logger.error("Giving up provisioning user accounts for employees {} after {} attempts", exhausted, maxAttempts);
+            employeesById(exhausted).values()
+                    .forEach(employee -> employee.setProvisioningStatus(Employee.ProvisioningStatus.FAILED));
+        }
+    }
+
+    // retryBackoff, 2x, 4x, ... capped at MAX_BACKOFF
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private Map<Long, Employee> employeesById(List<Long> ids) {
+        return employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    }
+
+    // The password is generated here and never stored; users set their own through auth-service.
+    // The outbox row id is the provisioning key: only this dispatcher can present it, so a retry
+    // can only ever adopt the account its own earlier attempt created.
+    private UserRegistrationRequest toUserRegistrationRequest(Employee employee, UserProvisioningOutbox row) {
+        return new UserRegistrationRequest(
+                employee.getEmail().split("@")[0],
+                employee.getEmail(),
+                "Temp@" + UUID.randomUUID().toString().substring(0, 8),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getId(),
+                departmentIdOf(employee),
+                PROVISIONING_KEY_PREFIX + row.getId());
+    }
+
+    private static Long departmentIdOf(Employee employee) {
+        return employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+    }
+
+    private record Claim(Long outboxId, Long employeeId, UserRegistrationRequest user) {
+    }
+
+    private record LinkClaim(Long outboxId, Long userId, EmployeeLinkRequest link) {
+    }
+}
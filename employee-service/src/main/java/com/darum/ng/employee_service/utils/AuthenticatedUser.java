@@ -0,0 +1,57 @@
+package com.darum.ng.employee_service.utils;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Principal built from a verified auth-service token. Carries the employeeId and
+ * departmentId claims so authorization checks need no database lookup while the token is
+ * recent enough (see SecurityUtils).
+ */
+public class AuthenticatedUser implements Principal {
+
+    // Claim names issued by auth-service (see JwtUtil there)
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_EMPLOYEE_ID = "employeeId";
+    public static final String CLAIM_DEPARTMENT_ID = "departmentId";
+
+    private final String username;
+    private final String role;
+    private final Long employeeId;
+    private final Long departmentId;
+    private final Instant issuedAt;
+
+    public AuthenticatedUser(String username, String role, Long employeeId, Long departmentId, Instant issuedAt) {
+        this.username = username;
+        this.role = role;
+        this.employeeId = employeeId;
+        this.departmentId = departmentId;
+        this.issuedAt = issuedAt;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,131 @@
+package com.darum.ng.employee_service.utils;
+
+import com.darum.ng.employee_service.entity.Employee;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keyset pagination helper for employee listings.
+ * A cursor is the sort key plus the values of the last row of the previous page,
+ * encoded as URL-safe base64 so clients treat it as an opaque token.
+ */
+public final class EmployeeCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String SEPARATOR = "\n";
+
+    private EmployeeCursor() {
+    }
+
+    public enum SortKey {
+        ID("id"),
+        LAST_NAME("lastName"),
+        CREATED_AT("createdAt");
+
+        private final String property;
+
+        SortKey(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        // id is always the last sort column so the keyset stays unique
+        public Sort toSort() {
+            if (this == ID) {
+                return Sort.by(Sort.Direction.ASC, "id");
+            }
+            return Sort.by(Sort.Direction.ASC, property).and(Sort.by(Sort.Direction.ASC, "id"));
+        }
+
+        public static SortKey from(String value) {
+            if (value == null || value.isBlank()) {
+                return ID;
+            }
+            for (SortKey key : values()) {
+                if (key.property.equalsIgnoreCase(value) || key.name().equalsIgnoreCase(value)) {
+                    return key;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid sort key: " + value + ". Valid keys are: id, lastName, createdAt");
+        }
+
+        private Object valueOf(Employee employee) {
+            return switch (this) {
+                case ID -> employee.getId();
+                case LAST_NAME -> employee.getLastName();
+                case CREATED_AT -> employee.getCreatedAt();
+            };
+        }
+
+        private Object parse(String value) {
+            return switch (this) {
+                case ID -> Long.valueOf(value);
+                case LAST_NAME -> value;
+                case CREATED_AT -> LocalDateTime.parse(value);
+            };
+        }
+    }
+
+    public static Limit limit(Integer size) {
+        if (size == null) {
+            return Limit.of(DEFAULT_PAGE_SIZE);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(size);
+    }
+
+    // The sort columns are NOT NULL; a null here would be written as "null" and fail to decode
+    public static String encode(SortKey sortKey, Employee last) {
+        String raw = sortKey.name() + SEPARATOR + last.getId();
+        if (sortKey != SortKey.ID) {
+            Object value = sortKey.valueOf(last);
+            if (value == null) {
+                throw new IllegalStateException("Employee " + last.getId() + " has no " + sortKey.getProperty()
+                        + ", cannot build a cursor");
+            }
+            raw = raw + SEPARATOR + value;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ScrollPosition decode(String cursor, SortKey sortKey) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 3);
+
+            if (SortKey.valueOf(parts[0]) != sortKey) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort key");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (sortKey != SortKey.ID) {
+                keys.put(sortKey.getProperty(), sortKey.parse(parts[2]));
+            }
+            keys.put("id", Long.valueOf(parts[1]));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.darum.ng.employee_service.utils;
+
+import com.darum.ng.employee_service.entity.Employee;
+import com.darum.ng.employee_service.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over employee first name, last name, email and position.
+ * <p>
+ * Terms are kept sorted in a skip list, each mapped to the ascending ids of the employees
+ * containing it (a {@code long[]} replaced on write, so readers never lock). A query token
+ * matches every term it is a prefix of; all query tokens must match. The index is built from a
+ * streaming scan once the application is ready and kept current by EmployeeServiceImpl once
+ * its writes commit. Employees written while the scan runs keep their newer entry: the scan
+ * skips their (possibly older) streamed rows.
+ * Soft-deleted (INACTIVE) employees are not indexed.
+ * <p>
+ * Each instance keeps its own index and only learns about writes made through that instance
+ * (and whatever the startup scan saw), so on any other instance an entry can be stale until it
+ * restarts: a moved or deleted employee still matches under their old department, a new one is
+ * missing. Results are therefore candidate ids only: callers load the rows from the database and
+ * must check status and access scope on those rows, never on {@link #getDepartmentId}.
+ */
+@Component
+public class EmployeeSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentSkipListMap<String, long[]> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, IndexedEmployee> documents = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    // Ids put or removed since the running rebuild started, null when none is running; guarded by this
+    private Set<Long> writtenDuringRebuild;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            writtenDuringRebuild = new HashSet<>();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Employee> employees = employeeRepository.streamAllForExport()) {
+                    employees.forEach(this::putStreamed);
+                }
+            });
+        } finally {
+            synchronized (this) {
+                writtenDuringRebuild = null;
+            }
+        }
+        ready = true;
+        logger.info("Employee search index built: {} employees, {} terms in {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Writers are serialized; readers see each term's postings switch atomically
+    public synchronized void put(Employee employee) {
+        markWritten(employee.getId());
+        index(employee);
+    }
+
+    public synchronized void remove(Long employeeId) {
+        markWritten(employeeId);
+        unindex(employeeId);
+    }
+
+    private synchronized void putStreamed(Employee employee) {
+        if (writtenDuringRebuild == null || !writtenDuringRebuild.contains(employee.getId())) {
+            index(employee);
+        }
+    }
+
+    private void markWritten(Long employeeId) {
+        if (writtenDuringRebuild != null) {
+            writtenDuringRebuild.add(employeeId);
+        }
+    }
+
+    private void index(Employee employee) {
+        unindex(employee.getId());
+        if (employee.getStatus() == Employee.EmployeeStatus.INACTIVE) {
+            return;
+        }
+        String[] terms = tokenize(employee.getFirstName(), employee.getLastName(), employee.getEmail(), employee.getPosition());
+        Long departmentId = employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+        documents.put(employee.getId(), new IndexedEmployee(departmentId, terms));
+        for (String term : terms) {
+            postings.merge(term, new long[]{employee.getId()}, (ids, added) -> insert(ids, added[0]));
+        }
+    }
+
+    private void unindex(Long employeeId) {
+        IndexedEmployee document = documents.remove(employeeId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            postings.computeIfPresent(term, (key, ids) -> {
+                long[] remaining = delete(ids, employeeId);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+    }
+
+    public Long getDepartmentId(long employeeId) {
+        IndexedEmployee document = documents.get(employeeId);
+        return document != null ? document.departmentId() : null;
+    }
+
+    /**
+     * Ids of employees matching every token of the query as a prefix, ascending,
+     * keeping only those accepted by {@code filter}, at most {@code limit}.
+     */
+    public List<Long> search(String query, LongPredicate filter, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0) {
+            return List.of();
+        }
+        long[] matches = null;
+        for (String token : tokens) {
+            long[] tokenMatches = union(postings.subMap(token, true, token + Character.MAX_VALUE, true).values());
+            matches = matches == null ? tokenMatches : intersect(matches, tokenMatches);
+            if (matches.length == 0) {
+                return List.of();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, matches.length));
+        for (long id : matches) {
+            if (filter.test(id)) {
+                ids.add(id);
+                if (ids.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String[] tokenize(String... values) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            for (String term : TOKEN_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms.toArray(String[]::new);
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        int insertAt = -position - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+        return result;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return result;
+    }
+
+    private static long[] union(Collection<long[]> lists) {
+        if (lists.size() == 1) {
+            return lists.iterator().next();
+        }
+        long[] all = lists.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        int size = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[size++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, size);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0, j = 0, size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private record IndexedEmployee(Long departmentId, String[] terms) {
+    }
+}
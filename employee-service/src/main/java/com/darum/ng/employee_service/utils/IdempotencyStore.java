@@ -0,0 +1,100 @@
+package com.darum.ng.employee_service.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, in-memory store behind the {@code Idempotency-Key} header.
+ * <p>
+ * The first request with a key runs the action; its result is kept for {@code idempotency.ttl}
+ * and returned to every retry with the same key and the same body. A retry that arrives while
+ * the first request is still running gets 409, a key reused with a different body gets 422.
+ * Failed actions are forgotten so the client can retry them. At most
+ * {@code idempotency.max-entries} keys are kept (least recently used are evicted first).
+ * Keys are per instance: a retry routed to another instance runs again.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(@Value("${idempotency.ttl:24h}") Duration ttl,
+                            @Value("${idempotency.max-entries:10000}") long maxEntries,
+                            MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency.keys");
+    }
+
+    /**
+     * Runs {@code action} once per (scope, key) and replays its result afterwards.
+     *
+     * @param scope   separates callers and operations, e.g. "admin|createEmployee"
+     * @param request the request body; a retry must send an equal one
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String scope, String key, Object request, Supplier<T> action) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String cacheKey = scope + "|" + key;
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(cacheKey, entry);
+
+        if (existing != null) {
+            if (!Objects.equals(existing.request(), request)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        HEADER + " was already used with a different request");
+            }
+            if (!existing.result().isDone()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "A request with this " + HEADER + " is still being processed");
+            }
+            if (!existing.result().isCompletedExceptionally()) {
+                return new Result<>((T) existing.result().join(), true);
+            }
+            // Lost the race with a failed attempt being removed: run again under a fresh entry
+            entries.asMap().remove(cacheKey, existing);
+            return execute(scope, key, request, action);
+        }
+
+        try {
+            T value = action.get();
+            entry.result().complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException e) {
+            entries.asMap().remove(cacheKey, entry);
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result) {
+    }
+
+    public record Result<T>(T value, boolean replayed) {
+    }
+}
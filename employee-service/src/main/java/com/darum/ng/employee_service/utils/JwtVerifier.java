@@ -0,0 +1,171 @@
+package com.darum.ng.employee_service.utils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verifies auth-service tokens locally.
+ * <p>
+ * With {@code jwt.algorithm=RS256} (recommended) the public keys are fetched from the
+ * auth-service JWKS endpoint and cached by {@code kid}; the endpoint is only called again
+ * when a token names a kid we have not seen (key rotation), at most once per
+ * {@code jwt.jwks.min-refresh-interval}. With HS256 the shared {@code jwt.secret} is used.
+ */
+@Component
+public class JwtVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(JwtVerifier.class);
+
+    // Must match auth-service's development default
+    private static final String DEFAULT_SECRET = "dev-default-insecure-secret-change-in-production-2024";
+
+    private final JwtParser jwtParser;
+    private final String jwksUri;
+    private final long minRefreshIntervalMs;
+    private final RestTemplate restTemplate;
+
+    private volatile Map<String, PublicKey> publicKeys = Map.of();
+    private volatile long lastRefreshAt;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public JwtVerifier(@Value("${jwt.algorithm:HS256}") String algorithm,
+                       @Value("${jwt.secret:}") String configuredSecret,
+                       @Value("${jwt.jwks-uri:${auth.service.url:http://localhost:8081}/auth/.well-known/jwks.json}") String jwksUri,
+                       @Value("${jwt.jwks.min-refresh-interval:30s}") Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.minRefreshIntervalMs = minRefreshInterval.toMillis();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) Duration.ofSeconds(2).toMillis());
+        requestFactory.setReadTimeout((int) Duration.ofSeconds(2).toMillis());
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        if ("RS256".equalsIgnoreCase(algorithm)) {
+            logger.info("JWT verification: RS256 using keys from {}", jwksUri);
+            this.jwtParser = Jwts.parser()
+                    .keyLocator(new LocatorAdapter<Key>() {
+                        @Override
+                        protected Key locate(JwsHeader header) {
+                            return findKey(header.getKeyId());
+                        }
+                    })
+                    .build();
+        } else {
+            String secret = getValidSecret(configuredSecret);
+            logger.info("JWT verification: HS256 with shared secret");
+            this.jwtParser = Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                    .build();
+        }
+    }
+
+    /**
+     * Resolves the HS256 secret exactly like auth-service's {@code JwtUtil}, or the two services
+     * would disagree on the key: the {@code JWT_SECRET} environment variable, then
+     * {@code jwt.secret} unless it is blank or contains {@code "default-insecure"}, then the
+     * development default.
+     */
+    private static String getValidSecret(String configuredSecret) {
+        String envSecret = System.getenv("JWT_SECRET");
+        if (envSecret != null && !envSecret.trim().isEmpty()) {
+            return envSecret;
+        }
+        if (configuredSecret != null && !configuredSecret.trim().isEmpty()
+                && !configuredSecret.contains("default-insecure")) {
+            return configuredSecret;
+        }
+        logger.error(" SECURITY ALERT: No JWT secret configured, using the insecure development default");
+        return DEFAULT_SECRET;
+    }
+
+    /**
+     * Verifies signature and expiration and returns the token's claims.
+     *
+     * @throws JwtException if the token is invalid or signed by an unknown key
+     */
+    public Claims parse(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    private PublicKey findKey(String kid) {
+        if (kid == null) {
+            throw new JwtException("Token has no key id");
+        }
+        PublicKey key = publicKeys.get(kid);
+        if (key == null) {
+            refreshKeys();
+            key = publicKeys.get(kid);
+        }
+        if (key == null) {
+            throw new JwtException("Unknown signing key id: " + kid);
+        }
+        return key;
+    }
+
+    // Rate limited so tokens with made-up kids cannot make us hammer auth-service.
+    // A lock rather than synchronized: the HTTP call would pin the carrier of a virtual thread.
+    private void refreshKeys() {
+        refreshLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (lastRefreshAt != 0 && now - lastRefreshAt < minRefreshIntervalMs) {
+                return;
+            }
+            lastRefreshAt = now;
+            fetchKeys();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void fetchKeys() {
+        try {
+            Map<?, ?> jwks = restTemplate.getForObject(jwksUri, Map.class);
+            Map<String, PublicKey> keys = new HashMap<>();
+            if (jwks != null && jwks.get("keys") instanceof List<?> entries) {
+                for (Object entry : entries) {
+                    if (entry instanceof Map<?, ?> jwk && "RSA".equals(jwk.get("kty"))) {
+                        keys.put((String) jwk.get("kid"), toPublicKey((String) jwk.get("n"), (String) jwk.get("e")));
+                    }
+                }
+            }
+            publicKeys = Map.copyOf(keys);
+            logger.info("Loaded {} JWT verification keys from {}", keys.size(), jwksUri);
+        } catch (RestClientException | GeneralSecurityException | IllegalArgumentException e) {
+            // Keep the keys we already have; tokens signed by them still verify
+            logger.error("Failed to fetch JWKS from {}: {}", jwksUri, e.getMessage());
+        }
+    }
+
+    private static PublicKey toPublicKey(String modulus, String exponent) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                new BigInteger(1, decoder.decode(modulus)),
+                new BigInteger(1, decoder.decode(exponent)));
+        return KeyFactory.getInstance("RSA").generatePublic(spec);
+    }
+}
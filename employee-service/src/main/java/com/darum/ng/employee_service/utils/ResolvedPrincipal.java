@@ -0,0 +1,70 @@
+package com.darum.ng.employee_service.utils;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The caller's identity resolved once per request: username and roles from the
+ * Authentication, plus the linked employee and department, which are loaded on
+ * first use and then reused by every SecurityUtils check in the same request.
+ */
+public class ResolvedPrincipal {
+
+    private final String username;
+    private final Set<String> roles;
+
+    private boolean scopeLoaded;
+    private Long employeeId;
+    private Long departmentId;
+
+    public ResolvedPrincipal(String username, Set<String> roles) {
+        this.username = username;
+        this.roles = roles;
+    }
+
+    public static ResolvedPrincipal anonymous() {
+        return new ResolvedPrincipal(null, Collections.emptySet());
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    public boolean isAdmin() {
+        return hasRole("ROLE_ADMIN");
+    }
+
+    public boolean isManager() {
+        return hasRole("ROLE_MANAGER");
+    }
+
+    public boolean isEmployee() {
+        return hasRole("ROLE_EMPLOYEE");
+    }
+
+    public boolean isScopeLoaded() {
+        return scopeLoaded;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    void setScope(Long employeeId, Long departmentId) {
+        this.employeeId = employeeId;
+        this.departmentId = departmentId;
+        this.scopeLoaded = true;
+    }
+}
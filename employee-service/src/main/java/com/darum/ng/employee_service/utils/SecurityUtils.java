@@ -1,15 +1,23 @@
 package com.darum.ng.employee_service.utils;
 
-import com.darum.ng.employee_service.entity.Employee;
 import com.darum.ng.employee_service.repository.DepartmentRepository;
 import com.darum.ng.employee_service.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -55,63 +63,71 @@ import java.util.stream.Collectors;
 
 public class SecurityUtils {
 
+    // Request attribute holding the ResolvedPrincipal for the current request
+    private static final String PRINCIPAL_ATTRIBUTE = SecurityUtils.class.getName() + ".PRINCIPAL";
 
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
+    private final Duration scopeClaimsMaxAge;
 
-    public SecurityUtils(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository) {
+    public SecurityUtils(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository,
+                         @Value("${security.scope-claims.max-age:15m}") Duration scopeClaimsMaxAge) {
         this.employeeRepository = employeeRepository;
         this.departmentRepository = departmentRepository;
+        this.scopeClaimsMaxAge = scopeClaimsMaxAge;
     }
 
+    /**
+     * Returns the caller's principal, resolving it at most once per HTTP request.
+     * Outside a request (e.g. background jobs) it is resolved on every call.
+     */
+    public ResolvedPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
 
-    public Long getCurrentUserEmployeeId() {
-        String username = getCurrentUsername();
-
-        if (username == null) return null;
+        if (requestAttributes != null) {
+            Object cached = requestAttributes.getAttribute(PRINCIPAL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached instanceof ResolvedPrincipal principal
+                    && Objects.equals(principal.getUsername(), usernameOf(authentication))) {
+                return principal;
+            }
+        }
 
-        try {
-            return employeeRepository.findByEmail(username)
-                    .map(Employee::getId)
-                    .orElse(null);
-        } catch (Exception e) {
-            return null; // Handle database errors gracefully
+        ResolvedPrincipal principal = resolvePrincipal(authentication);
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(PRINCIPAL_ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
         }
+        return principal;
     }
 
-    public Long getCurrentUserDepartmentId() {
-        Long employeeId = getCurrentUserEmployeeId();
-        if (employeeId == null) return null;
+    public Long getCurrentUserEmployeeId() {
+        return loadScope(getCurrentPrincipal()).getEmployeeId();
+    }
 
-        try {
-            return employeeRepository.findById(employeeId)
-                    .map(employee -> employee.getDepartment() != null ? employee.getDepartment().getId() : null)
-                    .orElse(null);
-        } catch (Exception e) {
-            return null;
-        }
+    public Long getCurrentUserDepartmentId() {
+        return loadScope(getCurrentPrincipal()).getDepartmentId();
     }
 
     //  COMPLETE: Check if user can access employee
     public boolean canAccessEmployee(Long targetEmployeeId) {
-        if (isAdmin()) return true;
+        ResolvedPrincipal principal = getCurrentPrincipal();
+        if (principal.isAdmin()) return true;
 
-        if (isManager()) {
-            Long managerDepartmentId = getCurrentUserDepartmentId();
+        if (principal.isManager()) {
+            Long managerDepartmentId = loadScope(principal).getDepartmentId();
             if (managerDepartmentId == null) return false;
 
             try {
-                return employeeRepository.findById(targetEmployeeId)
-                        .map(employee -> employee.getDepartment() != null &&
-                                employee.getDepartment().getId().equals(managerDepartmentId)) // ✅ FIXED: Compare department IDs
+                return employeeRepository.findDepartmentIdById(targetEmployeeId)
+                        .map(managerDepartmentId::equals) // ✅ FIXED: Compare department IDs
                         .orElse(false);
             } catch (Exception e) {
                 return false;
             }
         }
 
-        if (isEmployee()) {
-            Long currentEmployeeId = getCurrentUserEmployeeId();
+        if (principal.isEmployee()) {
+            Long currentEmployeeId = loadScope(principal).getEmployeeId();
             return currentEmployeeId != null && currentEmployeeId.equals(targetEmployeeId);
         }
         return false;
@@ -119,11 +135,12 @@ public class SecurityUtils {
 
     //COMPLETE: Check if user can access department
     public boolean canAccessDepartment(Long targetDepartmentId) {
+        ResolvedPrincipal principal = getCurrentPrincipal();
 
-        if (isAdmin()) return true;
+        if (principal.isAdmin()) return true;
 
-        if (isManager()) {
-            Long managerDepartmentId = getCurrentUserDepartmentId();
+        if (principal.isManager()) {
+            Long managerDepartmentId = loadScope(principal).getDepartmentId();
             return managerDepartmentId != null && managerDepartmentId.equals(targetDepartmentId);
         }
         return false;
@@ -131,51 +148,79 @@ public class SecurityUtils {
 
 
     public String getCurrentUsername() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication != null ? authentication.getName() : null;
+        return getCurrentPrincipal().getUsername();
     }
 
     public boolean isAdmin() {
-        return hasRole("ROLE_ADMIN");
+        return getCurrentPrincipal().isAdmin();
     }
 
     public boolean isManager() {
-        return hasRole("ROLE_MANAGER");
+        return getCurrentPrincipal().isManager();
     }
 
     public boolean isEmployee() {
-        return hasRole("ROLE_EMPLOYEE");
+        return getCurrentPrincipal().isEmployee();
     }
 
     public boolean hasRole(String role) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return false;
-        }
-        return authentication.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals(role));
+        return getCurrentPrincipal().hasRole(role);
     }
 
     public String getCurrentUserRole() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return null;
-        }
-        return authentication.getAuthorities().stream()
+        return getCurrentPrincipal().getRoles().stream()
                 .findFirst()
-                .map(GrantedAuthority::getAuthority)
                 .orElse(null);
     }
 
     public List<String> getCurrentUserRoles() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return new ArrayList<>(getCurrentPrincipal().getRoles());
+    }
+
+    private ResolvedPrincipal resolvePrincipal(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
-            return Collections.emptyList();
+            return ResolvedPrincipal.anonymous();
         }
-        return authentication.getAuthorities().stream()
+        Set<String> roles = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        ResolvedPrincipal principal = new ResolvedPrincipal(authentication.getName(), Collections.unmodifiableSet(roles));
+
+        // Recent tokens that carry the employee claims answer the scope checks without touching the database
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user && user.getEmployeeId() != null
+                && isRecent(user.getIssuedAt())) {
+            principal.setScope(user.getEmployeeId(), user.getDepartmentId());
+        }
+        return principal;
     }
-}
 
+    // The claims are a snapshot from when the token was issued: after a department change they stay
+    // wrong until the token expires. Past scope-claims.max-age the scope comes from the database,
+    // which bounds how long a moved employee or manager keeps the old department's access.
+    private boolean isRecent(Instant issuedAt) {
+        return issuedAt != null && issuedAt.isAfter(Instant.now().minus(scopeClaimsMaxAge));
+    }
 
+    // Otherwise employee and department are looked up with one query, the first time a check needs them
+    private ResolvedPrincipal loadScope(ResolvedPrincipal principal) {
+        if (principal.isScopeLoaded()) {
+            return principal;
+        }
+        if (principal.getUsername() == null) {
+            principal.setScope(null, null);
+            return principal;
+        }
+        try {
+            employeeRepository.findScopeByEmail(principal.getUsername())
+                    .ifPresentOrElse(scope -> principal.setScope(scope.getEmployeeId(), scope.getDepartmentId()),
+                            () -> principal.setScope(null, null));
+        } catch (Exception e) {
+            principal.setScope(null, null); // Handle database errors gracefully
+        }
+        return principal;
+    }
+
+    private String usernameOf(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.darum.ng.employee_service.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of already verified token claims, keyed by the SHA-256 of the token
+ * (the raw token is never retained), so a client sending the same bearer token on every
+ * request pays for signature verification once. Each entry expires at the token's own {@code exp},
+ * so a cached token can never outlive its validity. Hit/miss/eviction counts and size are
+ * published to Micrometer as the {@code jwt.tokens} cache.
+ */
+@Component
+public class TokenCache {
+
+    private final boolean enabled;
+    private final Cache<String, Claims> cache;
+
+    public TokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                      @Value("${jwt.cache.max-size:10000}") long maxSize,
+                      MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return nanosUntilExpiration(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return nanosUntilExpiration(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.tokens");
+    }
+
+    /**
+     * Returns the cached claims for the token, or verifies it with the given parser and caches the result.
+     * Verification failures propagate and are never cached.
+     */
+    public Claims get(String token, Function<String, Claims> parser) {
+        if (!enabled) {
+            return parser.apply(token);
+        }
+        return cache.get(hash(token), key -> parser.apply(token));
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static long nanosUntilExpiration(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return 0;
+        }
+        long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
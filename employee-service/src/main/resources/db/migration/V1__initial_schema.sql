@@ -0,0 +1,30 @@
+-- Schema as previously generated by Hibernate auto-DDL
+
+CREATE TABLE IF NOT EXISTS departments (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name            VARCHAR(255) NOT NULL,
+    description     VARCHAR(255),
+    manager_id      BIGINT,
+    manager_user_id BIGINT,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT uk_departments_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS employees (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    phone_number  VARCHAR(255),
+    position      VARCHAR(255),
+    salary        FLOAT(53),
+    status        VARCHAR(255),
+    department_id BIGINT REFERENCES departments (id),
+    user_id       BIGINT,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    -- The unique constraints' indexes also serve lookups by email and by user_id
+    CONSTRAINT uk_employees_email UNIQUE (email),
+    CONSTRAINT uk_employees_user_id UNIQUE (user_id)
+);
@@ -0,0 +1,27 @@
+-- Employee ids come from employees_seq in blocks of 50 (JDBC batching). Start it above the
+-- existing rows so ids handed out before the switch from IDENTITY are never reused.
+CREATE SEQUENCE IF NOT EXISTS employees_seq INCREMENT BY 50;
+ALTER SEQUENCE employees_seq INCREMENT BY 50;
+SELECT setval('employees_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM employees));
+
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS provisioning_status VARCHAR(255);
+-- Rows created before the outbox existed already had their accounts created synchronously
+UPDATE employees
+SET provisioning_status = CASE WHEN user_id IS NULL THEN 'FAILED' ELSE 'PROVISIONED' END
+WHERE provisioning_status IS NULL;
+
+CREATE SEQUENCE IF NOT EXISTS user_provisioning_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS user_provisioning_outbox (
+    id              BIGINT PRIMARY KEY,
+    employee_id     BIGINT       NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6),
+    CONSTRAINT uk_user_provisioning_outbox_employee_id UNIQUE (employee_id)
+);
+
+-- Dispatcher polls for rows whose next_attempt_at has passed
+CREATE INDEX IF NOT EXISTS idx_user_provisioning_outbox_next_attempt_at
+    ON user_provisioning_outbox (next_attempt_at);
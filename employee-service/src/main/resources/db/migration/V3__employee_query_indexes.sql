@@ -0,0 +1,14 @@
+-- Secondary indexes for the department/status listings and GET /api/employees/query.
+-- Built CONCURRENTLY so existing tables stay writable; this cannot run inside a transaction
+-- (see the .conf file next to this script).
+
+-- Department listings and manager scoping
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_department_id
+    ON employees (department_id);
+
+-- Status filter, alone or within a department
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_status_department_id
+    ON employees (status, department_id);
+
+-- employees(email) and employees(user_id) are already indexed by their unique constraints
+-- (uk_employees_email, uk_employees_user_id); a second index would only slow down writes.
@@ -0,0 +1,21 @@
+-- Indexes for the remaining hot EmployeeRepository finders. SchemaIndexCheck refuses to start
+-- the service if one of these (or an equivalent) is missing or INVALID.
+
+-- findScopeByEmail runs on every request whose token carries no employee claims; with id and
+-- department_id included it is answered from the index alone
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_email_scope
+    ON employees (email) INCLUDE (id, department_id);
+
+-- Keyset listings sorted by lastName / createdAt (id breaks ties, see EmployeeCursor)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_last_name_id
+    ON employees (last_name, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_created_at_id
+    ON employees (created_at, id);
+
+-- Department listings page by id within the department
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_department_id_id
+    ON employees (department_id, id);
+
+-- Superseded by idx_employees_department_id_id
+DROP INDEX CONCURRENTLY IF EXISTS idx_employees_department_id;
@@ -0,0 +1,9 @@
+-- Keyset listings sorted by createdAt (EmployeeCursor) cannot page past a NULL created_at:
+-- the cursor has no value to resume from. Rows from before the column was always set get
+-- their updated_at, or the migration time, and the column becomes NOT NULL.
+UPDATE employees
+SET created_at = COALESCE(updated_at, now())
+WHERE created_at IS NULL;
+
+ALTER TABLE employees
+    ALTER COLUMN created_at SET NOT NULL;
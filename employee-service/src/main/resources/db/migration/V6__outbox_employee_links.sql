@@ -0,0 +1,11 @@
+-- The outbox also carries employee links: after a department change the auth-service user's
+-- employee/department claims are updated through it, with the same retries as provisioning.
+-- At most one pending row per employee and kind.
+ALTER TABLE user_provisioning_outbox
+    ADD COLUMN IF NOT EXISTS kind VARCHAR(20) NOT NULL DEFAULT 'PROVISION';
+
+ALTER TABLE user_provisioning_outbox
+    DROP CONSTRAINT IF EXISTS uk_user_provisioning_outbox_employee_id;
+
+ALTER TABLE user_provisioning_outbox
+    ADD CONSTRAINT uk_user_provisioning_outbox_employee_id_kind UNIQUE (employee_id, kind);
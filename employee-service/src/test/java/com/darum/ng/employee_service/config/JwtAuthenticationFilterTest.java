@@ -0,0 +1,109 @@
+package com.darum.ng.employee_service.config;
+
+import com.darum.ng.employee_service.utils.AuthenticatedUser;
+import com.darum.ng.employee_service.utils.JwtVerifier;
+import com.darum.ng.employee_service.utils.TokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = JwtAuthenticationFilterTest.PrincipalController.class,
+        properties = "spring.cloud.config.enabled=false")
+@Import({EmployeeServiceSecurityConfig.class, JwtAuthenticationFilterTest.PrincipalController.class})
+class JwtAuthenticationFilterTest {
+
+    private static final Instant ISSUED_AT = Instant.parse("2024-06-01T10:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtVerifier jwtVerifier;
+
+    @MockBean
+    private TokenCache tokenCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(tokenCache.get(anyString(), any())).thenAnswer(invocation ->
+                invocation.getArgument(1, Function.class).apply(invocation.getArgument(0)));
+        when(jwtVerifier.parse("bad-token")).thenThrow(new JwtException("Signature mismatch"));
+        when(jwtVerifier.parse("manager-token")).thenReturn(claims(Map.of(
+                AuthenticatedUser.CLAIM_ROLE, "ROLE_MANAGER",
+                AuthenticatedUser.CLAIM_EMPLOYEE_ID, 7L,
+                AuthenticatedUser.CLAIM_DEPARTMENT_ID, 10L)));
+    }
+
+    @Test
+    void claimsBecomeAuthenticatedUserWithRoleAuthority() throws Exception {
+        mockMvc.perform(get("/principal").header(HttpHeaders.AUTHORIZATION, "Bearer manager-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authorities[0]").value("ROLE_MANAGER"))
+                .andExpect(jsonPath("$.username").value("manager@test.com"))
+                .andExpect(jsonPath("$.role").value("ROLE_MANAGER"))
+                .andExpect(jsonPath("$.employeeId").value(7))
+                .andExpect(jsonPath("$.departmentId").value(10))
+                .andExpect(jsonPath("$.issuedAt").value(ISSUED_AT.toString()));
+    }
+
+    @Test
+    void badTokenGets401() throws Exception {
+        mockMvc.perform(get("/principal").header(HttpHeaders.AUTHORIZATION, "Bearer bad-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void missingTokenGets401() throws Exception {
+        mockMvc.perform(get("/principal"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static Claims claims(Map<String, Object> values) {
+        return Jwts.claims()
+                .subject("manager@test.com")
+                .issuedAt(Date.from(ISSUED_AT))
+                .add(values)
+                .build();
+    }
+
+    @RestController
+    static class PrincipalController {
+
+        @GetMapping("/principal")
+        Map<String, Object> principal(Authentication authentication) {
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+            return Map.of(
+                    "authorities", authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList(),
+                    "username", user.getName(),
+                    "role", user.getRole(),
+                    "employeeId", user.getEmployeeId(),
+                    "departmentId", user.getDepartmentId(),
+                    "issuedAt", user.getIssuedAt().toString());
+        }
+    }
+}
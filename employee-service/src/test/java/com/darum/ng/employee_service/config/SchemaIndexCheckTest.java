@@ -0,0 +1,35 @@
+package com.darum.ng.employee_service.config;
+
+import com.darum.ng.employee_service.config.SchemaIndexCheck.ExistingIndex;
+import com.darum.ng.employee_service.config.SchemaIndexCheck.RequiredIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaIndexCheckTest {
+
+    private final RequiredIndex departmentListing = new RequiredIndex("employees", List.of("department_id", "id"), List.of(), "test");
+    private final RequiredIndex emailScope = new RequiredIndex("employees", List.of("email"), List.of("id", "department_id"), "test");
+
+    @Test
+    void requiredColumnsMustLeadTheIndex() {
+        assertThat(departmentListing.isSatisfiedBy(index("employees", List.of("department_id", "id", "last_name")))).isTrue();
+        assertThat(departmentListing.isSatisfiedBy(index("employees", List.of("department_id")))).isFalse();
+        assertThat(departmentListing.isSatisfiedBy(index("employees", List.of("id", "department_id")))).isFalse();
+        assertThat(departmentListing.isSatisfiedBy(index("departments", List.of("department_id", "id")))).isFalse();
+    }
+
+    @Test
+    void includedColumnsMayBeKeysOrIncludes() {
+        assertThat(emailScope.isSatisfiedBy(new ExistingIndex("employees", List.of("email"),
+                List.of("email", "id", "department_id")))).isTrue();
+        assertThat(emailScope.isSatisfiedBy(index("employees", List.of("email", "department_id", "id")))).isTrue();
+        assertThat(emailScope.isSatisfiedBy(index("employees", List.of("email")))).isFalse();
+    }
+
+    private static ExistingIndex index(String table, List<String> keyColumns) {
+        return new ExistingIndex(table, keyColumns, keyColumns);
+    }
+}
@@ -0,0 +1,115 @@
+package com.darum.ng.employee_service.repository;
+
+import com.darum.ng.employee_service.entity.Department;
+import com.darum.ng.employee_service.entity.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With ENTITY_CACHE_ENABLED=true, repeat reads by id, natural id (email), userId and the
+ * status/department finders must be answered from the second-level and query caches.
+ * Runs without a test transaction so every call gets its own session, as in production.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "ENTITY_CACHE_ENABLED=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeRepositoryCacheTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Department department;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        department = departmentRepository.save(new Department("Engineering", "Test department"));
+        Employee newEmployee = new Employee("Ada", "Lovelace", "ada@test.com", "Engineer", 1000.0, null);
+        newEmployee.setDepartment(department);
+        newEmployee.setUserId(42L);
+        employee = employeeRepository.save(newEmployee);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    void findByIdIsServedFromSecondLevelCache() {
+        assertThat(employeeRepository.findById(employee.getId())).isPresent();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(employeeRepository.findById(employee.getId())).get()
+                .extracting(Employee::getEmail).isEqualTo("ada@test.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void findByEmailIsServedFromNaturalIdCache() {
+        assertThat(employeeRepository.findByEmail("ada@test.com")).isPresent();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(employeeRepository.findByEmail("ada@test.com")).get()
+                .extracting(Employee::getId).isEqualTo(employee.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void userIdAndStatusFindersAreServedFromQueryCache() {
+        assertThat(employeeRepository.findByUserId(42L)).isPresent();
+        assertThat(employeeRepository.findByStatusAndDepartmentId(Employee.EmployeeStatus.ACTIVE, department.getId(),
+                ScrollPosition.keyset(), Sort.by("id"), Limit.of(10))).hasSize(1);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(employeeRepository.findByUserId(42L)).isPresent();
+        assertThat(employeeRepository.findByStatusAndDepartmentId(Employee.EmployeeStatus.ACTIVE, department.getId(),
+                ScrollPosition.keyset(), Sort.by("id"), Limit.of(10))).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void writesInvalidateCachedQueryResults() {
+        assertThat(employeeRepository.findByUserId(42L)).isPresent();
+
+        Employee updated = employeeRepository.findById(employee.getId()).orElseThrow();
+        updated.setUserId(43L);
+        employeeRepository.save(updated);
+
+        assertThat(employeeRepository.findByUserId(42L)).isEmpty();
+        assertThat(employeeRepository.findByUserId(43L)).isPresent();
+    }
+}
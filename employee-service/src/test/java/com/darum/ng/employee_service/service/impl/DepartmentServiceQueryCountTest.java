@@ -0,0 +1,101 @@
+package com.darum.ng.employee_service.service.impl;
+
+import com.darum.ng.employee_service.dto.DepartmentRequest;
+import com.darum.ng.employee_service.dto.DepartmentResponse;
+import com.darum.ng.employee_service.entity.Department;
+import com.darum.ng.employee_service.entity.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Department listings must return employee counts without a per-department COUNT query,
+ * and repeated department lookups must be served from the catalog cache.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({DepartmentServiceImpl.class, SimpleMeterRegistry.class})
+class DepartmentServiceQueryCountTest {
+
+    @Autowired
+    private DepartmentServiceImpl departmentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstDepartmentId;
+
+    @BeforeEach
+    void setUp() {
+        for (int d = 0; d < 4; d++) {
+            Department department = new Department("Department " + d, "Test department");
+            entityManager.persist(department);
+            for (int e = 0; e < d; e++) {
+                Employee employee = new Employee("First" + e, "Last" + e, "employee" + d + "-" + e + "@test.com",
+                        "Engineer", 1000.0, null);
+                employee.setDepartment(department);
+                entityManager.persist(employee);
+            }
+            if (firstDepartmentId == null) {
+                firstDepartmentId = department.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllDepartmentsUsesSingleStatement() {
+        List<DepartmentResponse> departments = departmentService.getAllDepartments();
+
+        assertThat(departments).extracting(DepartmentResponse::getEmployeeCount).containsExactly(0, 1, 2, 3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getDepartmentByIdAndNameUseSingleStatement() {
+        assertThat(departmentService.getDepartmentById(firstDepartmentId).getEmployeeCount()).isZero();
+        assertThat(departmentService.getDepartmentByName("Department 3").getEmployeeCount()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void departmentLookupsAreCachedUntilWritten() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(departmentService.departmentExists(firstDepartmentId)).isTrue();
+            assertThat(departmentService.findDepartment(firstDepartmentId)).get().extracting(Department::getName).isEqualTo("Department 0");
+            assertThat(departmentService.findDepartmentByName("Department 1")).isPresent();
+            assertThat(departmentService.departmentExists(-1L)).isFalse();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        departmentService.updateDepartment(firstDepartmentId, new DepartmentRequest("Renamed", "Test department"));
+        entityManager.flush();
+
+        assertThat(departmentService.findDepartment(firstDepartmentId)).get().extracting(Department::getName).isEqualTo("Renamed");
+        assertThat(departmentService.findDepartmentByName("Renamed")).isPresent();
+        assertThat(departmentService.findDepartmentByName("Department 0")).isEmpty();
+    }
+}
@@ -0,0 +1,165 @@
+package com.darum.ng.employee_service.service.impl;
+
+import com.darum.ng.employee_service.dto.EmployeeBatchItemResult;
+import com.darum.ng.employee_service.dto.EmployeeBatchResponse;
+import com.darum.ng.employee_service.dto.EmployeeFilter;
+import com.darum.ng.employee_service.dto.EmployeePageResponse;
+import com.darum.ng.employee_service.dto.EmployeeRequest;
+import com.darum.ng.employee_service.entity.Department;
+import com.darum.ng.employee_service.entity.Employee;
+import com.darum.ng.employee_service.service.DepartmentService;
+import com.darum.ng.employee_service.utils.EmployeeSearchIndex;
+import com.darum.ng.employee_service.utils.ResolvedPrincipal;
+import com.darum.ng.employee_service.utils.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards the employee read paths against N+1 department loads:
+ * every listing must be answered with a single SQL statement, however many rows it returns.
+ * Also checks that bulk onboarding validates with set-based queries and batches its INSERTs.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({EmployeeServiceImpl.class, EmployeeSearchIndex.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class EmployeeServiceQueryCountTest {
+
+    @Autowired
+    private EmployeeServiceImpl employeeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private DepartmentService departmentService;
+
+    @MockBean
+    private SecurityUtils securityUtils;
+
+    @MockBean
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private Long firstDepartmentId;
+    private Long firstEmployeeId;
+
+    @BeforeEach
+    void setUp() {
+        for (int d = 0; d < 3; d++) {
+            Department department = new Department("Department " + d, "Test department");
+            entityManager.persist(department);
+            for (int e = 0; e < 5; e++) {
+                Employee employee = new Employee("First" + e, "Last" + e, "employee" + d + "-" + e + "@test.com",
+                        "Engineer", 1000.0, null);
+                employee.setDepartment(department);
+                entityManager.persist(employee);
+                if (firstEmployeeId == null) {
+                    firstEmployeeId = employee.getId();
+                }
+            }
+            if (firstDepartmentId == null) {
+                firstDepartmentId = department.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        when(securityUtils.getCurrentPrincipal()).thenReturn(new ResolvedPrincipal("admin", Set.of("ROLE_ADMIN")));
+        when(securityUtils.canAccessDepartment(firstDepartmentId)).thenReturn(true);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllEmployeesUsesSingleStatement() {
+        assertThat(employeeService.getAllEmployees(null, 100, null).getContent()).hasSize(15);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getEmployeesByDepartmentUsesSingleStatement() {
+        assertThat(employeeService.getEmployeesByDepartment(firstDepartmentId, null, 100, null).getContent()).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getEmployeesByStatusUsesSingleStatement() {
+        assertThat(employeeService.getEmployeesByStatus("ACTIVE", null, 100, "lastName").getContent()).hasSize(15);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void queryEmployeesCombinesFiltersInSingleStatement() {
+        EmployeeFilter filter = new EmployeeFilter("active", firstDepartmentId, "engineer", 500.0, 1500.0,
+                LocalDateTime.now().minusDays(1), null);
+
+        EmployeePageResponse page = employeeService.queryEmployees(filter, null, 3, "lastName");
+
+        assertThat(page.getContent()).hasSize(3).allSatisfy(employee -> assertThat(employee.getDepartmentName()).isNotNull());
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        EmployeePageResponse next = employeeService.queryEmployees(filter, page.getNextCursor(), 3, "lastName");
+        assertThat(next.getContent()).hasSize(2);
+        assertThat(employeeService.queryEmployees(new EmployeeFilter(null, null, null, 2000.0, null, null, null), null, 100, null)
+                .getContent()).isEmpty();
+    }
+
+    @Test
+    void getEmployeeByIdUsesSingleStatement() {
+        assertThat(employeeService.getEmployeeById(firstEmployeeId).getDepartmentName()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void createEmployeesBatchesInserts() {
+        List<EmployeeRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            requests.add(new EmployeeRequest("First", "Last", "batch" + i + "@test.com", null, "Engineer", 1000.0,
+                    firstDepartmentId, null));
+        }
+        requests.add(new EmployeeRequest("First", "Last", "employee0-0@test.com", null, "Engineer", 1000.0, firstDepartmentId, null));
+        requests.add(new EmployeeRequest("First", "Last", "batch0@test.com", null, "Engineer", 1000.0, firstDepartmentId, null));
+        requests.add(new EmployeeRequest("First", "Last", "nodept@test.com", null, "Engineer", 1000.0, 999999L, null));
+        requests.add(new EmployeeRequest("", "Last", "invalid@test.com", null, "Engineer", 1000.0, firstDepartmentId, null));
+
+        EmployeeBatchResponse response = employeeService.createEmployees(requests);
+
+        assertThat(response.getCreated()).isEqualTo(120);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getResults().subList(120, 124))
+                .allMatch(result -> result.getStatus() == EmployeeBatchItemResult.Status.FAILED && result.getError() != null);
+
+        // 2 lookups + per chunk of 50: id fetches and one batched INSERT each for employees and outbox rows
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(14);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(240);
+    }
+}
@@ -0,0 +1,115 @@
+package com.darum.ng.employee_service.service.impl;
+
+import com.darum.ng.employee_service.dto.EmployeeRequest;
+import com.darum.ng.employee_service.dto.EmployeeResponse;
+import com.darum.ng.employee_service.entity.Department;
+import com.darum.ng.employee_service.entity.Employee;
+import com.darum.ng.employee_service.service.DepartmentService;
+import com.darum.ng.employee_service.utils.EmployeeSearchIndex;
+import com.darum.ng.employee_service.utils.ResolvedPrincipal;
+import com.darum.ng.employee_service.utils.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Employee search against a search index that missed writes made through another instance:
+ * what the index proposes must still be checked against the database rows. New employees only
+ * reach the index once their transaction commits.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({EmployeeServiceImpl.class, EmployeeSearchIndex.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class EmployeeServiceSearchTest {
+
+    @Autowired
+    private EmployeeServiceImpl employeeService;
+
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private DepartmentService departmentService;
+
+    @MockBean
+    private SecurityUtils securityUtils;
+
+    @MockBean
+    private ObjectMapper objectMapper;
+
+    private Department sales;
+    private Department support;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        sales = new Department("Sales", "Test department");
+        support = new Department("Support", "Test department");
+        entityManager.persist(sales);
+        entityManager.persist(support);
+        employee = new Employee("Stale", "Entry", "stale.entry@test.com", "Engineer", 1000.0, null);
+        employee.setDepartment(sales);
+        entityManager.persist(employee);
+        entityManager.flush();
+        searchIndex.rebuild();
+
+        when(securityUtils.getCurrentPrincipal()).thenReturn(new ResolvedPrincipal("manager", Set.of("ROLE_MANAGER")));
+        when(securityUtils.getCurrentUserDepartmentId()).thenReturn(sales.getId());
+    }
+
+    @Test
+    void managerSearchFindsOwnDepartment() {
+        assertThat(employeeService.searchEmployees("stale", 10)).extracting(EmployeeResponse::getId)
+                .containsExactly(employee.getId());
+    }
+
+    @Test
+    void managerSearchSkipsEmployeeMovedThroughAnotherInstance() {
+        // Written directly, so this instance's index still files the employee under sales
+        employee.setDepartment(support);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(employeeService.searchEmployees("stale", 10)).isEmpty();
+    }
+
+    @Test
+    void searchSkipsEmployeeDeletedThroughAnotherInstance() {
+        employee.setStatus(Employee.EmployeeStatus.INACTIVE);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(employeeService.searchEmployees("stale", 10)).isEmpty();
+    }
+
+    @Test
+    void createEmployeeIsNotIndexedBeforeCommit() {
+        when(departmentService.findDepartment(sales.getId())).thenReturn(Optional.of(sales));
+
+        // The test transaction is rolled back, never committed
+        employeeService.createEmployee(new EmployeeRequest("Uncommitted", "Hire", "uncommitted@test.com", null,
+                "Engineer", 1000.0, sales.getId(), null));
+
+        assertThat(searchIndex.search("uncommitted", id -> true, 10)).isEmpty();
+    }
+}
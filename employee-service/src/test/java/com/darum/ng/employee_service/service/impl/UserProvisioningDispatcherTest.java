@@ -0,0 +1,232 @@
+package com.darum.ng.employee_service.service.impl;
+
+import com.darum.ng.employee_service.client.ResilientAuthServiceClient;
+import com.darum.ng.employee_service.dto.EmployeeLinkRequest;
+import com.darum.ng.employee_service.dto.UserBatchRegistrationRequest;
+import com.darum.ng.employee_service.dto.UserBatchRegistrationResponse;
+import com.darum.ng.employee_service.dto.UserBatchRegistrationResult;
+import com.darum.ng.employee_service.dto.UserRegistrationRequest;
+import com.darum.ng.employee_service.entity.Department;
+import com.darum.ng.employee_service.entity.Employee;
+import com.darum.ng.employee_service.entity.UserProvisioningOutbox;
+import com.darum.ng.employee_service.repository.UserProvisioningOutboxRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "provisioning.batch-size=2"
+})
+@Import(UserProvisioningDispatcher.class)
+class UserProvisioningDispatcherTest {
+
+    @Autowired
+    private UserProvisioningDispatcher dispatcher;
+
+    @Autowired
+    private UserProvisioningOutboxRepository outboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private ResilientAuthServiceClient authServiceClient;
+
+    private List<Long> employeeIds;
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        department = new Department("Engineering", "Test department");
+        entityManager.persist(department);
+        employeeIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Employee employee = new Employee("First", "Last", "new" + i + "@test.com", "Engineer", 1000.0, null);
+            employee.setDepartment(department);
+            entityManager.persist(employee);
+            entityManager.persist(new UserProvisioningOutbox(employee.getId()));
+            employeeIds.add(employee.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void provisionsAccountsInBatchesAndBackfillsUserId() {
+        when(authServiceClient.registerEmployees(any())).thenAnswer(invocation -> {
+            UserBatchRegistrationRequest batch = invocation.getArgument(0);
+            List<UserBatchRegistrationResult> results = new ArrayList<>();
+            for (int i = 0; i < batch.getUsers().size(); i++) {
+                Long employeeId = batch.getUsers().get(i).getEmployeeId();
+                results.add(new UserBatchRegistrationResult(i, null, null, 1000 + employeeId, null));
+            }
+            return ResponseEntity.ok(new UserBatchRegistrationResponse(results.size(), results.size(), 0, results));
+        });
+
+        dispatcher.dispatch();
+        entityManager.flush();
+        entityManager.clear();
+
+        // batch-size 2: two calls drain three rows
+        verify(authServiceClient, times(2)).registerEmployees(any());
+        assertThat(outboxRepository.count()).isZero();
+        for (Long employeeId : employeeIds) {
+            Employee employee = entityManager.find(Employee.class, employeeId);
+            assertThat(employee.getUserId()).isEqualTo(1000 + employeeId);
+            assertThat(employee.getProvisioningStatus()).isEqualTo(Employee.ProvisioningStatus.PROVISIONED);
+        }
+    }
+
+    @Test
+    void schedulesRetryWhenAuthServiceIsDown() {
+        when(authServiceClient.registerEmployees(any())).thenThrow(new RuntimeException("connection refused"));
+
+        dispatcher.dispatchBatch();
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UserProvisioningOutbox> rows = outboxRepository.findAll();
+        assertThat(rows).hasSize(3);
+        assertThat(rows).filteredOn(row -> row.getAttempts() == 1)
+                .hasSize(2)
+                .allMatch(row -> row.getNextAttemptAt().isAfter(LocalDateTime.now())
+                        && "connection refused".equals(row.getLastError()));
+        assertThat(entityManager.find(Employee.class, employeeIds.get(0)).getProvisioningStatus())
+                .isEqualTo(Employee.ProvisioningStatus.PENDING);
+    }
+
+    @Test
+    void retriesKeepTheOutboxRowAsProvisioningKey() {
+        when(authServiceClient.registerEmployees(any())).thenThrow(new RuntimeException("connection refused"));
+        List<String> expectedKeys = outboxRepository.findAll().stream()
+                .filter(row -> !row.getEmployeeId().equals(employeeIds.get(2)))
+                .map(row -> UserProvisioningDispatcher.PROVISIONING_KEY_PREFIX + row.getId())
+                .toList();
+
+        dispatcher.dispatchBatch();
+        entityManager.flush();
+        entityManager.clear();
+        outboxRepository.findAll().forEach(row -> row.setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+        entityManager.flush();
+        dispatcher.dispatchBatch();
+
+        ArgumentCaptor<UserBatchRegistrationRequest> batches = ArgumentCaptor.forClass(UserBatchRegistrationRequest.class);
+        verify(authServiceClient, times(2)).registerEmployees(batches.capture());
+        for (UserBatchRegistrationRequest batch : batches.getAllValues()) {
+            assertThat(batch.getUsers()).extracting(UserRegistrationRequest::getProvisioningKey)
+                    .containsExactlyInAnyOrderElementsOf(expectedKeys);
+        }
+    }
+
+    @Test
+    void dropsRowsOfDeletedEmployees() {
+        when(authServiceClient.registerEmployees(any())).thenThrow(new RuntimeException("connection refused"));
+        entityManager.remove(entityManager.find(Employee.class, employeeIds.get(0)));
+        entityManager.flush();
+
+        dispatcher.dispatchBatch();
+
+        // Of the two claimed rows (batch-size 2) the deleted employee's is dropped, only the other is sent
+        ArgumentCaptor<UserBatchRegistrationRequest> batch = ArgumentCaptor.forClass(UserBatchRegistrationRequest.class);
+        verify(authServiceClient).registerEmployees(batch.capture());
+        assertThat(batch.getValue().getUsers()).extracting(UserRegistrationRequest::getEmployeeId)
+                .containsExactly(employeeIds.get(1));
+        assertThat(outboxRepository.findAll()).noneMatch(row -> row.getEmployeeId().equals(employeeIds.get(0)));
+    }
+
+    @Test
+    void queuesLinkWhenEmployeeMovedDuringProvisioning() {
+        Department sales = new Department("Sales", "Test department");
+        entityManager.persist(sales);
+        when(authServiceClient.registerEmployees(any())).thenAnswer(invocation -> {
+            entityManager.find(Employee.class, employeeIds.get(0)).setDepartment(sales);
+            entityManager.flush();
+            UserBatchRegistrationRequest batch = invocation.getArgument(0);
+            List<UserBatchRegistrationResult> results = new ArrayList<>();
+            for (int i = 0; i < batch.getUsers().size(); i++) {
+                results.add(new UserBatchRegistrationResult(i, null, null, 1000L + i, null));
+            }
+            return ResponseEntity.ok(new UserBatchRegistrationResponse(results.size(), results.size(), 0, results));
+        });
+
+        dispatcher.dispatchBatch();
+        entityManager.flush();
+
+        assertThat(outboxRepository.findByEmployeeIdAndKind(employeeIds.get(0), UserProvisioningOutbox.Kind.LINK)).isPresent();
+        assertThat(outboxRepository.findByEmployeeIdAndKind(employeeIds.get(1), UserProvisioningOutbox.Kind.LINK)).isEmpty();
+    }
+
+    @Test
+    void linksDepartmentAndRemovesRow() {
+        Long employeeId = linkedEmployeeWithPendingLink();
+        when(authServiceClient.linkEmployee(any(), any())).thenReturn(ResponseEntity.ok(Map.of()));
+
+        dispatcher.dispatchLinks();
+        entityManager.flush();
+
+        verify(authServiceClient).linkEmployee(eq(500L), eq(new EmployeeLinkRequest(employeeId, department.getId())));
+        assertThat(outboxRepository.findByEmployeeIdAndKind(employeeId, UserProvisioningOutbox.Kind.LINK)).isEmpty();
+    }
+
+    @Test
+    void resendsLinkWhenDepartmentChangedDuringCall() {
+        Long employeeId = linkedEmployeeWithPendingLink();
+        Department sales = new Department("Sales", "Test department");
+        entityManager.persist(sales);
+        when(authServiceClient.linkEmployee(any(), any())).thenAnswer(invocation -> {
+            entityManager.find(Employee.class, employeeId).setDepartment(sales);
+            entityManager.flush();
+            return ResponseEntity.ok(Map.of());
+        });
+
+        dispatcher.dispatchLinks();
+        entityManager.flush();
+
+        UserProvisioningOutbox row = outboxRepository.findByEmployeeIdAndKind(employeeId, UserProvisioningOutbox.Kind.LINK).orElseThrow();
+        assertThat(row.getAttempts()).isZero();
+        assertThat(row.getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now());
+    }
+
+    @Test
+    void retriesLinkWhenAuthServiceIsDown() {
+        Long employeeId = linkedEmployeeWithPendingLink();
+        when(authServiceClient.linkEmployee(any(), any())).thenThrow(new RuntimeException("connection refused"));
+
+        dispatcher.dispatchLinks();
+        entityManager.flush();
+
+        UserProvisioningOutbox row = outboxRepository.findByEmployeeIdAndKind(employeeId, UserProvisioningOutbox.Kind.LINK).orElseThrow();
+        assertThat(row.getAttempts()).isEqualTo(1);
+        assertThat(row.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(row.getLastError()).isEqualTo("connection refused");
+    }
+
+    private Long linkedEmployeeWithPendingLink() {
+        Employee employee = entityManager.find(Employee.class, employeeIds.get(0));
+        employee.setUserId(500L);
+        outboxRepository.requestLink(employee.getId());
+        entityManager.flush();
+        return employee.getId();
+    }
+}
@@ -0,0 +1,42 @@
+package com.darum.ng.employee_service.utils;
+
+import com.darum.ng.employee_service.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeCursorTest {
+
+    @Test
+    void roundTripsTheLastRowsKeys() {
+        Employee last = employee(42L, LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+        String cursor = EmployeeCursor.encode(EmployeeCursor.SortKey.CREATED_AT, last);
+        KeysetScrollPosition position = (KeysetScrollPosition) EmployeeCursor.decode(cursor, EmployeeCursor.SortKey.CREATED_AT);
+
+        assertThat(position.getKeys()).containsEntry("createdAt", last.getCreatedAt()).containsEntry("id", 42L);
+        assertThatThrownBy(() -> EmployeeCursor.decode(cursor, EmployeeCursor.SortKey.LAST_NAME))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void refusesToEncodeANullSortKey() {
+        Employee last = employee(42L, null);
+
+        assertThatThrownBy(() -> EmployeeCursor.encode(EmployeeCursor.SortKey.CREATED_AT, last))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(EmployeeCursor.encode(EmployeeCursor.SortKey.ID, last)).isNotBlank();
+    }
+
+    private static Employee employee(Long id, LocalDateTime createdAt) {
+        Employee employee = new Employee("John", "Doe", "john.doe@darum.ng", "Engineer", 1000.0, null);
+        employee.setId(id);
+        employee.setCreatedAt(createdAt);
+        return employee;
+    }
+}
@@ -0,0 +1,87 @@
+package com.darum.ng.employee_service.utils;
+
+import com.darum.ng.employee_service.entity.Department;
+import com.darum.ng.employee_service.entity.Employee;
+import com.darum.ng.employee_service.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeSearchIndexTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final EmployeeSearchIndex index = new EmployeeSearchIndex(employeeRepository, mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        index.put(employee(1L, "John", "Doe", "john.doe@darum.ng", "Software Engineer", 10L));
+        index.put(employee(2L, "Joan", "Smith", "joan.smith@darum.ng", "Accountant", 20L));
+        index.put(employee(3L, "Jonas", "Doerr", "jonas@darum.ng", "Engineering Manager", 10L));
+    }
+
+    @Test
+    void matchesEveryTokenAsPrefix() {
+        assertThat(index.search("jo", id -> true, 10)).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("Jo DOE", id -> true, 10)).containsExactly(1L, 3L);
+        assertThat(index.search("engineer", id -> true, 10)).containsExactly(1L, 3L);
+        assertThat(index.search("joan.smith@", id -> true, 10)).containsExactly(2L);
+        assertThat(index.search("jo acc eng", id -> true, 10)).isEmpty();
+    }
+
+    @Test
+    void appliesFilterBeforeLimit() {
+        assertThat(index.search("jo", id -> index.getDepartmentId(id) == 10L, 10)).containsExactly(1L, 3L);
+        assertThat(index.search("jo", id -> id != 1L, 1)).containsExactly(2L);
+    }
+
+    @Test
+    void updatesReplaceOldTermsAndInactiveEmployeesAreDropped() {
+        index.put(employee(1L, "Jack", "Doe", "jack.doe@darum.ng", "Software Engineer", 10L));
+        assertThat(index.search("john", id -> true, 10)).isEmpty();
+        assertThat(index.search("jack", id -> true, 10)).containsExactly(1L);
+
+        Employee inactive = employee(3L, "Jonas", "Doerr", "jonas@darum.ng", "Engineering Manager", 10L);
+        inactive.setStatus(Employee.EmployeeStatus.INACTIVE);
+        index.put(inactive);
+        assertThat(index.search("doe", id -> true, 10)).containsExactly(1L);
+
+        index.remove(2L);
+        assertThat(index.search("joan", id -> true, 10)).isEmpty();
+    }
+
+    @Test
+    void rebuildKeepsWritesMadeWhileScanning() {
+        Employee stale = employee(1L, "John", "Doe", "john.doe@darum.ng", "Software Engineer", 10L);
+        Employee removed = employee(2L, "Joan", "Smith", "joan.smith@darum.ng", "Accountant", 20L);
+        // Each row is streamed after a concurrent write to it has already reached the index
+        when(employeeRepository.streamAllForExport()).thenReturn(Stream.of(stale, removed).peek(row -> {
+            if (row == stale) {
+                index.put(employee(1L, "Jack", "Doe", "jack.doe@darum.ng", "Software Engineer", 10L));
+            } else {
+                index.remove(2L);
+            }
+        }));
+
+        index.rebuild();
+
+        assertThat(index.search("john", id -> true, 10)).isEmpty();
+        assertThat(index.search("jack", id -> true, 10)).containsExactly(1L);
+        assertThat(index.search("joan", id -> true, 10)).isEmpty();
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName, String email, String position, Long departmentId) {
+        Employee employee = new Employee(firstName, lastName, email, position, 1000.0, null);
+        employee.setId(id);
+        employee.setStatus(Employee.EmployeeStatus.ACTIVE);
+        Department department = new Department();
+        department.setId(departmentId);
+        employee.setDepartment(department);
+        return employee;
+    }
+}
@@ -0,0 +1,87 @@
+package com.darum.ng.employee_service.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(Duration.ofHours(1), 100, new SimpleMeterRegistry());
+
+    @Test
+    void replaysCompletedResultWithoutRunningAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        IdempotencyStore.Result<String> first = store.execute("admin", "key-1", "body", () -> "created-" + calls.incrementAndGet());
+        IdempotencyStore.Result<String> retry = store.execute("admin", "key-1", "body", () -> "created-" + calls.incrementAndGet());
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.value()).isEqualTo("created-1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void keysAreScoped() {
+        store.execute("alice", "key-1", "body", () -> "alice");
+
+        assertThat(store.execute("bob", "key-1", "body", () -> "bob").value()).isEqualTo("bob");
+    }
+
+    @Test
+    void rejectsKeyReusedWithDifferentBody() {
+        store.execute("admin", "key-1", "body", () -> "created");
+
+        assertThatThrownBy(() -> store.execute("admin", "key-1", "other body", () -> "created"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
+    @Test
+    void rejectsRetryWhileFirstRequestIsInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotencyStore.Result<String>> first = CompletableFuture.supplyAsync(() ->
+                store.execute("admin", "key-1", "body", () -> {
+                    started.countDown();
+                    await(release);
+                    return "created";
+                }));
+        started.await();
+
+        assertThatThrownBy(() -> store.execute("admin", "key-1", "body", () -> "again"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+
+        release.countDown();
+        assertThat(first.get().value()).isEqualTo("created");
+    }
+
+    @Test
+    void forgetsFailedAttempts() {
+        assertThatThrownBy(() -> store.execute("admin", "key-1", "body", () -> {
+            throw new RuntimeException("Department not found");
+        })).hasMessage("Department not found");
+
+        IdempotencyStore.Result<String> retry = store.execute("admin", "key-1", "body", () -> "created");
+        assertThat(retry.replayed()).isFalse();
+        assertThat(retry.value()).isEqualTo("created");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
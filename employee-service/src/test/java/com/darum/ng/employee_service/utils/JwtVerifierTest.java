@@ -0,0 +1,147 @@
+package com.darum.ng.employee_service.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class JwtVerifierTest {
+
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(1);
+
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+    private KeyPair publishedKey;
+    private HttpServer jwksServer;
+    private JwtVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        publishedKey = generateKeyPair();
+        byte[] jwks = jwks("2024-06", (RSAPublicKey) publishedKey.getPublic()).getBytes(StandardCharsets.UTF_8);
+
+        jwksServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jwksServer.createContext("/auth/.well-known/jwks.json", exchange -> {
+            jwksRequests.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(jwks);
+            }
+        });
+        jwksServer.start();
+
+        String jwksUri = "http://127.0.0.1:" + jwksServer.getAddress().getPort() + "/auth/.well-known/jwks.json";
+        verifier = new JwtVerifier("RS256", "", jwksUri, MIN_REFRESH_INTERVAL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwksServer.stop(0);
+    }
+
+    @Test
+    void publishedKidVerifiesAfterOneFetch() {
+        assertThat(verifier.parse(rs256("2024-06", publishedKey.getPrivate())).getSubject()).isEqualTo("alice");
+        assertThat(verifier.parse(rs256("2024-06", publishedKey.getPrivate())).getSubject()).isEqualTo("alice");
+
+        assertThat(jwksRequests).hasValue(1);
+    }
+
+    @Test
+    void unknownKidRefetchesOnceThenIsRejected() throws Exception {
+        verifier.parse(rs256("2024-06", publishedKey.getPrivate()));
+        PrivateKey unpublished = generateKeyPair().getPrivate();
+        String firstUnknown = rs256("2025-01", unpublished);
+        String secondUnknown = rs256("2025-02", unpublished);
+        Thread.sleep(MIN_REFRESH_INTERVAL.plusMillis(100).toMillis());
+
+        assertThatThrownBy(() -> verifier.parse(firstUnknown)).isInstanceOf(JwtException.class);
+        assertThat(jwksRequests).hasValue(2);
+
+        // Within the interval another made-up kid is rejected from the cache
+        assertThatThrownBy(() -> verifier.parse(secondUnknown)).isInstanceOf(JwtException.class);
+        assertThat(jwksRequests).hasValue(2);
+    }
+
+    @Test
+    void hs256TokenIsRejectedWhileRs256IsConfigured() {
+        // Names the published kid, so only the algorithm tells it apart
+        String forged = Jwts.builder()
+                .header().keyId("2024-06").and()
+                .subject("mallory")
+                .claim("role", "ROLE_ADMIN")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("a-shared-secret-that-is-at-least-32-bytes".getBytes(StandardCharsets.UTF_8)),
+                        Jwts.SIG.HS256)
+                .compact();
+
+        assertThatThrownBy(() -> verifier.parse(forged)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void hs256IgnoresConfiguredPlaceholderSecretLikeAuthService() {
+        assumeTrue(System.getenv("JWT_SECRET") == null);
+        JwtVerifier hs256 = new JwtVerifier("HS256", "placeholder-default-insecure-secret-0123456789", "", MIN_REFRESH_INTERVAL);
+
+        // auth-service signs with its development default when jwt.secret is a placeholder
+        String token = Jwts.builder()
+                .subject("alice")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("dev-default-insecure-secret-change-in-production-2024".getBytes()),
+                        Jwts.SIG.HS256)
+                .compact();
+
+        assertThat(hs256.parse(token).getSubject()).isEqualTo("alice");
+    }
+
+    private static String rs256(String kid, PrivateKey key) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("alice")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key, Jwts.SIG.RS256)
+                .compact();
+    }
+
+    // Same shape as auth-service's JwksController
+    private static String jwks(String kid, RSAPublicKey key) {
+        return "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"" + kid + "\",\"use\":\"sig\",\"alg\":\"RS256\","
+                + "\"n\":\"" + base64Url(key.getModulus()) + "\",\"e\":\"" + base64Url(key.getPublicExponent()) + "\"}]}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static KeyPair generateKeyPair() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,70 @@
+package com.darum.ng.employee_service.utils;
+
+import com.darum.ng.employee_service.repository.DepartmentRepository;
+import com.darum.ng.employee_service.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SecurityUtilsTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final SecurityUtils securityUtils = new SecurityUtils(employeeRepository, mock(DepartmentRepository.class),
+            Duration.ofMinutes(15));
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void recentTokenClaimsAnswerScopeWithoutDatabase() {
+        authenticate(Instant.now().minus(Duration.ofMinutes(1)));
+
+        assertThat(securityUtils.getCurrentUserDepartmentId()).isEqualTo(10L);
+        assertThat(securityUtils.canAccessDepartment(10L)).isTrue();
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void olderTokenClaimsAreCheckedAgainstDatabase() {
+        // Moved from department 10 to 20 after the token was issued
+        when(employeeRepository.findScopeByEmail("manager@test.com")).thenReturn(Optional.of(scope(7L, 20L)));
+        authenticate(Instant.now().minus(Duration.ofHours(2)));
+
+        assertThat(securityUtils.getCurrentUserDepartmentId()).isEqualTo(20L);
+        assertThat(securityUtils.canAccessDepartment(10L)).isFalse();
+    }
+
+    private static void authenticate(Instant issuedAt) {
+        AuthenticatedUser user = new AuthenticatedUser("manager@test.com", "ROLE_MANAGER", 7L, 10L, issuedAt);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user, null, List.of(new SimpleGrantedAuthority("ROLE_MANAGER"))));
+    }
+
+    private static EmployeeRepository.EmployeeScope scope(Long employeeId, Long departmentId) {
+        return new EmployeeRepository.EmployeeScope() {
+            @Override
+            public Long getEmployeeId() {
+                return employeeId;
+            }
+
+            @Override
+            public Long getDepartmentId() {
+                return departmentId;
+            }
+        };
+    }
+}
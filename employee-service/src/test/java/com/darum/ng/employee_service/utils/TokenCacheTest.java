@@ -0,0 +1,52 @@
+package com.darum.ng.employee_service.utils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenCache tokenCache = new TokenCache(true, 100, meterRegistry);
+
+    @Test
+    void verifiesEachTokenOnce() {
+        AtomicInteger parses = new AtomicInteger();
+        Claims claims = claims(new Date(System.currentTimeMillis() + 60_000));
+
+        tokenCache.get("token-a", token -> { parses.incrementAndGet(); return claims; });
+        Claims cached = tokenCache.get("token-a", token -> { parses.incrementAndGet(); return claims; });
+
+        assertThat(cached.getSubject()).isEqualTo("alice");
+        assertThat(parses).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotKeepExpiredOrRejectedTokens() {
+        AtomicInteger parses = new AtomicInteger();
+        Claims expired = claims(new Date(System.currentTimeMillis() - 1_000));
+
+        tokenCache.get("token-b", token -> { parses.incrementAndGet(); return expired; });
+        tokenCache.get("token-b", token -> { parses.incrementAndGet(); return expired; });
+        assertThat(parses).hasValue(2);
+
+        assertThatThrownBy(() -> tokenCache.get("token-c", token -> { throw new JwtException("bad signature"); }))
+                .isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> tokenCache.get("token-c", token -> { throw new JwtException("bad signature"); }))
+                .isInstanceOf(JwtException.class);
+    }
+
+    private static Claims claims(Date expiration) {
+        return Jwts.claims().subject("alice").expiration(expiration).build();
+    }
+}
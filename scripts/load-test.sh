@@ -0,0 +1,117 @@
+#!/bin/bash
+
+# Load test for comparing platform-thread and virtual-thread mode on the same heap and cores.
+#
+# 1. Start the services in one mode, with the same limits for both runs, e.g.
+#      export JAVA_TOOL_OPTIONS="-Xmx512m -XX:ActiveProcessorCount=2"
+#      VIRTUAL_THREADS_ENABLED=false ./scripts/start-all.sh    (JDK 21, built with -Pjava21)
+# 2. ./scripts/load-test.sh platform
+# 3. ./scripts/stop-all.sh, restart with VIRTUAL_THREADS_ENABLED=true, ./scripts/load-test.sh virtual
+# 4. ./scripts/load-test.sh compare platform virtual
+#
+# Each concurrency level runs for DURATION against TARGET (employees: GET /api/employees through
+# the gateway, JDBC bound; login: POST /auth/login, BCrypt bound). Results go to
+# logs/load-test-<label>-<target>.csv. Requires hey (https://github.com/rakyll/hey) and jq.
+
+set -e
+
+GATEWAY_URL=${GATEWAY_URL:-http://localhost:8080}
+EMPLOYEE_SERVICE_URL=${EMPLOYEE_SERVICE_URL:-http://localhost:8082}
+TARGET=${TARGET:-employees}
+DURATION=${DURATION:-30s}
+CONCURRENCY_LEVELS=${CONCURRENCY_LEVELS:-"50 100 200 400 800 1600"}
+LOADTEST_USERNAME=${LOADTEST_USERNAME:-admin}
+LOADTEST_PASSWORD=${LOADTEST_PASSWORD:-}
+
+if [ ! -f "pom.xml" ]; then
+    echo "❌ ERROR: Please run this script from the project root directory"
+    exit 1
+fi
+
+mkdir -p logs
+
+compare() {
+    local left="logs/load-test-$1-$TARGET.csv"
+    local right="logs/load-test-$2-$TARGET.csv"
+    for file in "$left" "$right"; do
+        if [ ! -f "$file" ]; then
+            echo "❌ ERROR: $file not found, run the load test for that label first"
+            exit 1
+        fi
+    done
+    echo "📊 $TARGET: $1 vs $2"
+    echo ""
+    join -t, -j1 <(tail -n +2 "$left" | sort -t, -k1,1) <(tail -n +2 "$right" | sort -t, -k1,1) \
+        | sort -t, -k1,1n \
+        | awk -F, -v l="$1" -v r="$2" '
+            BEGIN { printf "%-12s %14s %14s %12s %12s %10s %10s %10s %10s\n", "concurrency", l" req/s", r" req/s", l" p99", r" p99", l" errs", r" errs", l" thr", r" thr" }
+            { printf "%-12s %14s %14s %12s %12s %10s %10s %10s %10s\n", $1, $2, $7, $4, $9, $5, $10, $6, $11 }'
+}
+
+if [ "$1" = "compare" ]; then
+    if [ -z "$2" ] || [ -z "$3" ]; then
+        echo "Usage: $0 compare <label> <label>"
+        exit 1
+    fi
+    compare "$2" "$3"
+    exit 0
+fi
+
+LABEL=$1
+if [ -z "$LABEL" ]; then
+    echo "Usage: $0 <label>                 run the load test, e.g. $0 virtual"
+    echo "       $0 compare <label> <label> compare two runs"
+    exit 1
+fi
+
+for tool in hey jq; do
+    if ! command -v $tool > /dev/null; then
+        echo "❌ ERROR: $tool is required"
+        exit 1
+    fi
+done
+
+if [ -z "$LOADTEST_PASSWORD" ]; then
+    echo "❌ ERROR: set LOADTEST_USERNAME / LOADTEST_PASSWORD to an ADMIN account"
+    exit 1
+fi
+
+LOGIN_BODY=$(jq -nc --arg u "$LOADTEST_USERNAME" --arg p "$LOADTEST_PASSWORD" '{username: $u, password: $p}')
+TOKEN=$(curl -sf -X POST "$GATEWAY_URL/auth/login" -H "Content-Type: application/json" -d "$LOGIN_BODY" | jq -r .token)
+if [ -z "$TOKEN" ] || [ "$TOKEN" = "null" ]; then
+    echo "❌ ERROR: login as $LOADTEST_USERNAME failed"
+    exit 1
+fi
+
+RESULTS="logs/load-test-$LABEL-$TARGET.csv"
+echo "concurrency,requests_per_sec,p50_ms,p99_ms,errors,live_threads" > "$RESULTS"
+
+echo "🚀 Load test '$LABEL' against $TARGET, $DURATION per level"
+echo "   JAVA_TOOL_OPTIONS of the services must be the same for every label being compared"
+
+for concurrency in $CONCURRENCY_LEVELS; do
+    echo "⏳ concurrency $concurrency..."
+    if [ "$TARGET" = "login" ]; then
+        output=$(hey -z "$DURATION" -c "$concurrency" -m POST -T application/json -d "$LOGIN_BODY" "$GATEWAY_URL/auth/login")
+    else
+        output=$(hey -z "$DURATION" -c "$concurrency" -H "Authorization: Bearer $TOKEN" "$GATEWAY_URL/api/employees?size=20")
+    fi
+
+    rps=$(echo "$output" | awk '/Requests\/sec/ { print $2 }')
+    p50=$(echo "$output" | awk '/ 50% in / { printf "%.1f", $3 * 1000 }')
+    p99=$(echo "$output" | awk '/ 99% in / { printf "%.1f", $3 * 1000 }')
+    # Non-2xx responses plus transport errors (timeouts, refused connections)
+    errors=$(echo "$output" | awk '
+        /^Error distribution:/ { in_errors = 1; next }
+        !in_errors && /^ *\[[0-9]+\]/ { if ($1 !~ /^\[2/) errs += $2 }
+        in_errors && /^ *\[[0-9]+\]/ { errs += substr($1, 2, length($1) - 2) }
+        END { print errs + 0 }')
+    threads=$(curl -sf -H "Authorization: Bearer $TOKEN" "$EMPLOYEE_SERVICE_URL/actuator/metrics/jvm.threads.live" \
+        | jq -r '.measurements[0].value // empty' || true)
+
+    echo "$concurrency,$rps,$p50,$p99,$errors,${threads:-n/a}" >> "$RESULTS"
+    echo "   $rps req/s, p50 ${p50}ms, p99 ${p99}ms, errors $errors, live platform threads ${threads:-n/a}"
+done
+
+echo ""
+echo "✅ Results written to $RESULTS"
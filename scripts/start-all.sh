@@ -28,6 +28,10 @@ if [ -z "$JWT_SECRET" ]; then
     exit 1
 fi
 
+if [ -z "$SERVICE_TOKEN" ]; then
+    echo "⚠️  WARNING: SERVICE_TOKEN not set in .env, new employees will not get user accounts"
+fi
+
 echo ""
 echo "🔍 Environment Check:"
 echo "   - DB_USERNAME: $DB_USERNAME"